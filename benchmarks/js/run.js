@@ -0,0 +1,198 @@
+#!/usr/bin/env node
+/*
+ * Runs the scenarios of scenarios.js against one or more transpiled
+ * j4ts-time bundles and reports the operations per second and the heap
+ * growth of each scenario.
+ *
+ * Each bundle is loaded into a context of its own, after the scripts it
+ * depends on (the j4ts bundle and js-joda), so that several bundles can be
+ * compared in one run. When js-joda is loaded as a UMD script, its exports
+ * are copied to the global object, where the def.js bindings expect them.
+ *
+ * Nothing is downloaded: all scripts are read from the local file system.
+ *
+ *   node --expose-gc benchmarks/js/run.js \
+ *       --require path/to/j4ts/bundle.js --require path/to/js-joda.js \
+ *       dist/j4ts-time.js [other/j4ts-time.js] \
+ *       [--filter calendar] [--time 2000] [--warmup 1000] [--json]
+ *
+ * With --expose-gc, the heap is collected before each scenario and the
+ * retained growth is reported next to the growth during the measurement.
+ */
+'use strict';
+
+var fs = require('fs');
+var path = require('path');
+var vm = require('vm');
+
+var scenarios = require('./scenarios');
+
+function parseArguments(args) {
+    var options = { bundles: [], requires: [], filter: null, time: 2000, warmup: 1000, json: false };
+    for (var i = 0; i < args.length; i++) {
+        switch (args[i]) {
+        case '--require':
+            options.requires.push(args[++i]);
+            break;
+        case '--filter':
+            options.filter = new RegExp(args[++i]);
+            break;
+        case '--time':
+            options.time = Number(args[++i]);
+            break;
+        case '--warmup':
+            options.warmup = Number(args[++i]);
+            break;
+        case '--json':
+            options.json = true;
+            break;
+        default:
+            if (args[i].indexOf('--') === 0) {
+                throw new Error('unknown option ' + args[i]);
+            }
+            options.bundles.push(args[i]);
+        }
+    }
+    if (options.bundles.length === 0) {
+        throw new Error('no bundle given');
+    }
+    return options;
+}
+
+function loadBundle(bundle, requires) {
+    var context = vm.createContext({ console: console });
+    requires.concat([bundle]).forEach(function (file) {
+        vm.runInContext(fs.readFileSync(file, 'utf8'), context, { filename: path.resolve(file) });
+        if (context.JSJoda) {
+            Object.keys(context.JSJoda).forEach(function (name) {
+                if (!(name in context)) {
+                    context[name] = context.JSJoda[name];
+                }
+            });
+        }
+    });
+    return context;
+}
+
+function collectGarbage() {
+    if (typeof global.gc === 'function') {
+        global.gc();
+        return true;
+    }
+    return false;
+}
+
+/**
+ * Calls the operation in batches until the given time has passed, doubling
+ * the batch size as long as a batch takes less than 10 ms.
+ */
+function runFor(operation, millis) {
+    var batch = 1;
+    var operations = 0;
+    var sink = 0;
+    var start = process.hrtime.bigint();
+    var end = start + BigInt(millis) * 1000000n;
+    var now = start;
+    while (now < end) {
+        var batchStart = now;
+        for (var i = 0; i < batch; i++) {
+            sink += operation();
+        }
+        operations += batch;
+        now = process.hrtime.bigint();
+        if (now - batchStart < 10000000n) {
+            batch *= 2;
+        }
+    }
+    return { operations: operations, nanos: Number(now - start), sink: sink };
+}
+
+function measure(scenario, context, options) {
+    var operation = scenario(context);
+    runFor(operation, options.warmup);
+    var collected = collectGarbage();
+    var heapBefore = process.memoryUsage().heapUsed;
+    var result = runFor(operation, options.time);
+    var heapAfter = process.memoryUsage().heapUsed;
+    var retained = collected && collectGarbage() ? process.memoryUsage().heapUsed - heapBefore : null;
+    return {
+        opsPerSecond: result.operations / result.nanos * 1e9,
+        heapGrowth: heapAfter - heapBefore,
+        retainedGrowth: retained,
+        sink: result.sink
+    };
+}
+
+function formatNumber(value, digits) {
+    return value === null ? '-' : value.toFixed(digits).replace(/\B(?=(\d{3})+(?!\d))/g, ',');
+}
+
+function pad(text, width) {
+    text = String(text);
+    return text.length >= width ? text : new Array(width - text.length + 1).join(' ') + text;
+}
+
+function printTable(names, bundles, results) {
+    var header = pad('scenario', 34);
+    bundles.forEach(function (bundle, b) {
+        header += pad('[' + b + '] ops/s', 16) + pad('heap KB', 12) + pad('retained KB', 13);
+        if (b > 0) {
+            header += pad('vs [0]', 9);
+        }
+    });
+    console.log(header);
+    names.forEach(function (name) {
+        var line = pad(name, 34);
+        results[name].forEach(function (result, b) {
+            if (result.error) {
+                line += pad('n/a', 16) + pad('', 12) + pad('', 13) + (b > 0 ? pad('', 9) : '');
+                return;
+            }
+            line += pad(formatNumber(result.opsPerSecond, 0), 16)
+                + pad(formatNumber(result.heapGrowth / 1024, 0), 12)
+                + pad(formatNumber(result.retainedGrowth === null ? null : result.retainedGrowth / 1024, 0), 13);
+            if (b > 0) {
+                var base = results[name][0];
+                line += pad(base.error ? '-' : formatNumber(result.opsPerSecond / base.opsPerSecond, 2) + 'x', 9);
+            }
+        });
+        console.log(line);
+    });
+    bundles.forEach(function (bundle, b) {
+        console.log('[' + b + '] ' + bundle);
+    });
+    names.forEach(function (name) {
+        results[name].forEach(function (result, b) {
+            if (result.error) {
+                console.log('[' + b + '] ' + name + ': ' + result.error);
+            }
+        });
+    });
+}
+
+function main() {
+    var options = parseArguments(process.argv.slice(2));
+    var names = Object.keys(scenarios).filter(function (name) {
+        return !options.filter || options.filter.test(name);
+    });
+    var contexts = options.bundles.map(function (bundle) {
+        return loadBundle(bundle, options.requires);
+    });
+    var results = {};
+    names.forEach(function (name) {
+        results[name] = contexts.map(function (context) {
+            try {
+                return measure(scenarios[name], context, options);
+            } catch (e) {
+                return { error: String(e && e.message || e) };
+            }
+        });
+    });
+    if (options.json) {
+        console.log(JSON.stringify({ bundles: options.bundles, node: process.version, results: results }, null, 2));
+    } else {
+        printTable(names, options.bundles, results);
+    }
+}
+
+main();
@@ -0,0 +1,116 @@
+/*
+ * The scenarios run against a transpiled j4ts-time bundle. They mirror the
+ * JMH benchmarks of this module so that the JVM and the JavaScript numbers
+ * can be read side by side.
+ *
+ * Each scenario gets the global object of the context the bundle was loaded
+ * into and returns the operation to time. The operation returns a value that
+ * is accumulated by the runner, so that V8 cannot drop it as dead code.
+ */
+'use strict';
+
+var MILLIS_COUNT = 1024;
+
+function randomMillis() {
+    // a fixed linear congruential sequence, so that all bundles see the
+    // same time values; stays within the transition table of the zone
+    var millis = new Array(MILLIS_COUNT);
+    var seed = 42;
+    for (var i = 0; i < MILLIS_COUNT; i++) {
+        seed = (seed * 1103515245 + 12345) % 2147483648;
+        millis[i] = (seed / 2147483648 * 2 - 1) * 60 * 365 * 86400000;
+    }
+    return millis;
+}
+
+function calendar(global) {
+    return new global.java.util.GregorianCalendar(global.java.util.TimeZone.getTimeZone('Europe/Berlin'));
+}
+
+function calendarScenario(operation) {
+    return function (global) {
+        var Calendar = global.java.util.Calendar;
+        var cal = calendar(global);
+        var millis = randomMillis();
+        var index = 0;
+        return function () {
+            cal.setTimeInMillis(millis[index++ & (MILLIS_COUNT - 1)]);
+            return operation(Calendar, cal);
+        };
+    };
+}
+
+function dateTime(global) {
+    return global.java.time.LocalDateTime.of(2018, 3, 31, 23, 59, 30, 123456789);
+}
+
+module.exports = {
+
+    'calendar.setTimeInMillisAndGet': calendarScenario(function (Calendar, cal) {
+        return cal.get(Calendar.YEAR) + cal.get(Calendar.DAY_OF_MONTH) + cal.get(Calendar.HOUR_OF_DAY);
+    }),
+
+    'calendar.addDays': calendarScenario(function (Calendar, cal) {
+        cal.add(Calendar.DAY_OF_MONTH, 45);
+        return cal.getTimeInMillis();
+    }),
+
+    'calendar.addMonths': calendarScenario(function (Calendar, cal) {
+        cal.add(Calendar.MONTH, 7);
+        return cal.getTimeInMillis();
+    }),
+
+    'calendar.rollHours': calendarScenario(function (Calendar, cal) {
+        cal.roll(Calendar.HOUR_OF_DAY, 5);
+        return cal.getTimeInMillis();
+    }),
+
+    'calendar.clone': calendarScenario(function (Calendar, cal) {
+        return cal.clone().getTimeInMillis();
+    }),
+
+    'localDateTime.of': function (global) {
+        var LocalDateTime = global.java.time.LocalDateTime;
+        var day = 0;
+        return function () {
+            return LocalDateTime.of(2018, 3, 1 + (day++ & 15), 23, 59, 30, 123456789).getDayOfMonth();
+        };
+    },
+
+    'localDateTime.plusChain': function (global) {
+        var start = dateTime(global);
+        return function () {
+            return start.plusDays(1).plusHours(3).withMinute(15).plusSeconds(45).minusMonths(1).getMinute();
+        };
+    },
+
+    'localDateTime.getFields': function (global) {
+        var value = dateTime(global);
+        return function () {
+            return value.getYear() + value.getMonthValue() + value.getDayOfMonth()
+                + value.getHour() + value.getMinute() + value.getSecond() + value.getNano();
+        };
+    },
+
+    'localDateTime.parse': function (global) {
+        var LocalDateTime = global.java.time.LocalDateTime;
+        return function () {
+            return LocalDateTime.parse('2018-03-31T23:59:30.123').getNano();
+        };
+    },
+
+    'localDateTime.toString': function (global) {
+        var value = dateTime(global);
+        return function () {
+            return value.toString().length;
+        };
+    },
+
+    'localDateTime.formatToCharArray': function (global) {
+        var value = dateTime(global);
+        var buffer = new Array(35);
+        return function () {
+            return value.formatTo(buffer, 0);
+        };
+    }
+};
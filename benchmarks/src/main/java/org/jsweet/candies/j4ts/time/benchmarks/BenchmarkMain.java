@@ -0,0 +1,40 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected on the command line with the allocation
+ * profiler turned on, so that {@code gc.alloc.rate.norm} is reported for
+ * every benchmark next to its score.
+ *
+ * <p>
+ * Accepts the usual JMH options:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar [regexp] [JMH options]
+ * </pre>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+                || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers()
+                || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
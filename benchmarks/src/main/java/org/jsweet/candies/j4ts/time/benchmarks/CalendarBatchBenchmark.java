@@ -0,0 +1,94 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.util.Calendar;
+import java.util.CalendarBatch;
+import java.util.GregorianCalendar;
+import java.util.ParallelCalendarBatch;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sun.util.TzdbFile;
+
+/**
+ * Converts a column of sorted time values, one every 15 seconds, to the
+ * year, month, day, hour and minute columns, with {@link CalendarBatch},
+ * with {@link ParallelCalendarBatch} in the common pool, and with a single
+ * reused calendar as the baseline.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar CalendarBatchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+@OperationsPerInvocation(CalendarBatchBenchmark.SIZE)
+public class CalendarBatchBenchmark {
+
+    static final int SIZE = 1 << 16;
+
+    private static final int[] FIELDS = {
+        Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_MONTH, Calendar.HOUR_OF_DAY, Calendar.MINUTE
+    };
+
+    private final long[] millis = new long[SIZE];
+
+    private final int[][] columns = new int[Calendar.FIELD_COUNT][];
+
+    private int fieldMask;
+
+    private TimeZone zone;
+
+    private Calendar calendar;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < SIZE; i++) {
+            millis[i] = 1_600_000_000_000L + i * 15_000L;
+        }
+        for (int field : FIELDS) {
+            columns[field] = new int[SIZE];
+            fieldMask |= 1 << field;
+        }
+        zone = TzdbFile.getTimeZone("Europe/Berlin");
+        calendar = new GregorianCalendar(zone);
+    }
+
+    @Benchmark
+    public int[][] batch() {
+        CalendarBatch.computeFields(millis, zone, fieldMask, columns);
+        return columns;
+    }
+
+    @Benchmark
+    public int[][] parallelBatch() {
+        ParallelCalendarBatch.computeFields(millis, zone, fieldMask, columns);
+        return columns;
+    }
+
+    @Benchmark
+    public int[][] calendarPerValue() {
+        for (int i = 0; i < SIZE; i++) {
+            calendar.setTimeInMillis(millis[i]);
+            for (int field : FIELDS) {
+                columns[field][i] = calendar.get(field);
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,206 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Covers the {@link Calendar} operations found on the hot paths of
+ * applications: creation, borrowing, field computation, field
+ * arithmetic, stepping, cloning and comparison.
+ *
+ * <p>
+ * {@link #baseline()} cycles through the same time values as the other
+ * benchmarks without touching a calendar, which gives the cost of the
+ * harness and of the value lookup.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar CalendarBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class CalendarBenchmark {
+
+    private static final int MILLIS_COUNT = 1024;
+
+    private static final int STEP_DAYS = 31;
+
+    private final long[] millis = new long[MILLIS_COUNT];
+
+    private int index;
+
+    private Calendar calendar;
+
+    private Calendar other;
+
+    private TimeZone defaultZone;
+
+    private Locale defaultLocale;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < MILLIS_COUNT; i++) {
+            // stays within the transition table of the zone
+            millis[i] = random.nextLong() % (60L * 365 * 86400000L);
+        }
+        TimeZone zone = TimeZone.getTimeZone("Europe/Berlin");
+        calendar = new GregorianCalendar(zone);
+        defaultZone = TimeZone.getDefault();
+        defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        other = new GregorianCalendar(zone);
+        other.setTimeInMillis(millis[0]);
+    }
+
+    private long nextMillis() {
+        return millis[index++ & (MILLIS_COUNT - 1)];
+    }
+
+    @Benchmark
+    public long baseline() {
+        return nextMillis();
+    }
+
+    @Benchmark
+    public Calendar getInstance() {
+        return Calendar.getInstance();
+    }
+
+    /**
+     * Borrows and releases a calendar with the default time zone and
+     * locale, as {@link #getInstance()} creates one.
+     */
+    @Benchmark
+    public long borrowAndRelease() {
+        Calendar borrowed = Calendar.borrow(defaultZone, defaultLocale);
+        long time = borrowed.getTimeInMillis();
+        Calendar.release(borrowed);
+        return time;
+    }
+
+    @Benchmark
+    public int setTimeInMillisAndGet() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.get(Calendar.YEAR) + calendar.get(Calendar.DAY_OF_MONTH) + calendar.get(Calendar.HOUR_OF_DAY);
+    }
+
+    @Benchmark
+    public long addDays() {
+        calendar.setTimeInMillis(nextMillis());
+        calendar.add(Calendar.DAY_OF_MONTH, 45);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long addMonths() {
+        calendar.setTimeInMillis(nextMillis());
+        calendar.add(Calendar.MONTH, 7);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Advances the same calendar by a minute, which mostly stays on the
+     * same day with the same offsets.
+     */
+    @Benchmark
+    public int addMinute() {
+        calendar.add(Calendar.MINUTE, 1);
+        return calendar.get(Calendar.MINUTE);
+    }
+
+    /**
+     * Steps through a month of days with a stepper, reported per day.
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEP_DAYS)
+    public long stepDays() {
+        calendar.setTimeInMillis(nextMillis());
+        PrimitiveIterator.OfLong days = calendar.stepper(Calendar.DAY_OF_MONTH, 1,
+                                                         calendar.getTimeInMillis() + STEP_DAYS * 86400000L);
+        long sum = 0;
+        while (days.hasNext()) {
+            sum += days.nextLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rollDays() {
+        calendar.setTimeInMillis(nextMillis());
+        calendar.roll(Calendar.DAY_OF_MONTH, 20);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long rollHours() {
+        calendar.setTimeInMillis(nextMillis());
+        calendar.roll(Calendar.HOUR_OF_DAY, 5);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public int actualMaximumDayOfMonth() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+    }
+
+    @Benchmark
+    public int actualMaximumWeekOfYear() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.getActualMaximum(Calendar.WEEK_OF_YEAR);
+    }
+
+    @Benchmark
+    public int weekYear() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.getWeekYear() + calendar.get(Calendar.WEEK_OF_YEAR);
+    }
+
+    @Benchmark
+    public String monthDisplayName() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, defaultLocale);
+    }
+
+    /**
+     * Includes the copy of the cached map returned for each call.
+     */
+    @Benchmark
+    public Map<String, Integer> monthDisplayNames() {
+        return calendar.getDisplayNames(Calendar.MONTH, Calendar.LONG, defaultLocale);
+    }
+
+    @Benchmark
+    public Object cloneCalendar() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.clone();
+    }
+
+    @Benchmark
+    public int compareTo() {
+        calendar.setTimeInMillis(nextMillis());
+        return calendar.compareTo(other);
+    }
+}
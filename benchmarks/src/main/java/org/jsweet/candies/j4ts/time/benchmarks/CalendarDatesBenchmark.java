@@ -0,0 +1,83 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.util.Calendar;
+import java.util.CalendarBatch;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converts a block of random days between 1970 and 2500 to year, month
+ * and day columns, with the branch-free {@link CalendarBatch#computeDates}
+ * loop on epoch days and with {@link CalendarBatch#computeFields} on the
+ * UTC midnights of the same days.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar CalendarDatesBenchmark
+ * </pre>
+ *
+ * The vector kernel built on the same arithmetic is measured by
+ * <code>EpochDayKernelBenchmark</code> in the <code>vector</code> module,
+ * which needs Java 17.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+@OperationsPerInvocation(CalendarDatesBenchmark.SIZE)
+public class CalendarDatesBenchmark {
+
+    static final int SIZE = 1 << 12;
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    private static final int FIELD_MASK = (1 << Calendar.YEAR) | (1 << Calendar.MONTH) | (1 << Calendar.DAY_OF_MONTH);
+
+    private final int[] epochDays = new int[SIZE];
+
+    private final long[] millis = new long[SIZE];
+
+    private final int[][] columns = new int[Calendar.FIELD_COUNT][];
+
+    private final TimeZone zone = new SimpleTimeZone(0, "UTC");
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            epochDays[i] = random.nextInt(200_000);
+            millis[i] = epochDays[i] * ONE_DAY;
+        }
+        columns[Calendar.YEAR] = new int[SIZE];
+        columns[Calendar.MONTH] = new int[SIZE];
+        columns[Calendar.DAY_OF_MONTH] = new int[SIZE];
+    }
+
+    @Benchmark
+    public int[][] computeDates() {
+        CalendarBatch.computeDates(epochDays, 0, SIZE, columns[Calendar.YEAR], columns[Calendar.MONTH],
+                                   columns[Calendar.DAY_OF_MONTH]);
+        return columns;
+    }
+
+    @Benchmark
+    public int[][] computeFields() {
+        CalendarBatch.computeFields(millis, zone, FIELD_MASK, columns);
+        return columns;
+    }
+}
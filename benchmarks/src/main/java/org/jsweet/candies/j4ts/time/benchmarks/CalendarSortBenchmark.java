@@ -0,0 +1,92 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorts calendars whose time value has not been computed, i.e. calendars
+ * on which a field was set after the time. {@link Calendar#compareTo}
+ * then has to compute the time of both calendars on each comparison.
+ *
+ * <p>
+ * The allocation rate reported by the GC profiler compares the
+ * {@code Calendar.compareTo} path with the clone-based one it replaces:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar CalendarSortBenchmark
+ * </pre>
+ *
+ * The forked JVMs load the j4ts-time classes from the boot class path,
+ * so the benchmarks have to be run on a Java 8 VM from this directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsPrepend = { "-Xbootclasspath/p:target/j4ts-time.jar", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class CalendarSortBenchmark {
+
+    /**
+     * The comparison the calendars were sorted with before
+     * {@code compareTo} stopped cloning.
+     */
+    private static final Comparator<Calendar> CLONING_COMPARATOR = (a, b) -> {
+        Calendar ca = (Calendar) a.clone();
+        Calendar cb = (Calendar) b.clone();
+        ca.setLenient(true);
+        cb.setLenient(true);
+        return Long.compare(ca.getTimeInMillis(), cb.getTimeInMillis());
+    };
+
+    @Param({ "1000000" })
+    int size;
+
+    private Calendar[] calendars;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        TimeZone zone = TimeZone.getTimeZone("Europe/Berlin");
+        calendars = new Calendar[size];
+        for (int i = 0; i < size; i++) {
+            Calendar calendar = new GregorianCalendar(zone);
+            // stays within the transition table of the zone
+            calendar.setTimeInMillis(random.nextLong() % (60L * 365 * 86400000L));
+            // leaves the time value unset
+            calendar.set(Calendar.MINUTE, random.nextInt(60));
+            calendars[i] = calendar;
+        }
+    }
+
+    @Benchmark
+    public Calendar[] sort() {
+        Calendar[] copy = calendars.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Calendar[] sortCloning() {
+        Calendar[] copy = calendars.clone();
+        Arrays.sort(copy, CLONING_COMPARATOR);
+        return copy;
+    }
+}
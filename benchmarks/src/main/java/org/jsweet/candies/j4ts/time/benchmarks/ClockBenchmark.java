@@ -0,0 +1,48 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the current time, which {@code Calendar.getInstance()} and
+ * {@code LocalDateTime.now()} do on each call.
+ *
+ * <p>
+ * j4ts-time has no {@code Clock} of its own, so {@link #clockMillis()}
+ * measures the one of the running JVM against the
+ * {@link System#currentTimeMillis()} baseline.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ClockBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class ClockBenchmark {
+
+    private final Clock clock = Clock.systemUTC();
+
+    @Benchmark
+    public long baseline() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long clockMillis() {
+        return clock.millis();
+    }
+}
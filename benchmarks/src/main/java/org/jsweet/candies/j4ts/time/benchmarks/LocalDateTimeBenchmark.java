@@ -0,0 +1,92 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Covers the single operations of the j4ts-time {@link LocalDateTime};
+ * {@link LocalDateTimeChainBenchmark} chains them.
+ *
+ * <p>
+ * {@code toString()} delegates to js-joda, which does not exist on the
+ * JVM, so {@link #toIsoString()} measures the ISO string through
+ * {@link LocalDateTime#formatTo(char[], int)} instead.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LocalDateTimeBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class LocalDateTimeBenchmark {
+
+    private int year = 2018;
+
+    private int dayOfMonth = 31;
+
+    private long amount = 1_000_003;
+
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setup() {
+        dateTime = LocalDateTime.of(2018, 3, 31, 23, 59, 30, 123_456_789);
+    }
+
+    @Benchmark
+    public LocalDateTime baseline() {
+        return dateTime;
+    }
+
+    @Benchmark
+    public LocalDateTime of() {
+        return LocalDateTime.of(year, 3, dayOfMonth, 23, 59, 30, 123_456_789);
+    }
+
+    @Benchmark
+    public LocalDateTime plusDays() {
+        return dateTime.plusDays(amount);
+    }
+
+    @Benchmark
+    public LocalDateTime plusMonths() {
+        return dateTime.plusMonths(amount);
+    }
+
+    @Benchmark
+    public LocalDateTime plusHours() {
+        return dateTime.plusHours(amount);
+    }
+
+    @Benchmark
+    public LocalDateTime plusNanos() {
+        return dateTime.plusNanos(amount);
+    }
+
+    @Benchmark
+    public int getFields() {
+        return dateTime.getYear() + dateTime.getMonthValue() + dateTime.getDayOfMonth()
+                + dateTime.getHour() + dateTime.getMinute() + dateTime.getSecond() + dateTime.getNano();
+    }
+
+    @Benchmark
+    public String toIsoString() {
+        char[] buffer = new char[35];
+        return new String(buffer, 0, dateTime.formatTo(buffer, 0));
+    }
+}
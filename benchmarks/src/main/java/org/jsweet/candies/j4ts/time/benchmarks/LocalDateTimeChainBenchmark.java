@@ -0,0 +1,54 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chains five date-time operations on the j4ts-time
+ * {@link LocalDateTime}, which stays on its packed epoch-day/nano-of-day
+ * representation for the whole chain.
+ *
+ * <p>
+ * Only the operations implemented on the packed representation are used:
+ * the js-joda delegate does not exist on the JVM.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LocalDateTimeChainBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class LocalDateTimeChainBenchmark {
+
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setup() {
+        dateTime = LocalDateTime.of(2018, 3, 31, 23, 59, 30, 123_456_789);
+    }
+
+    @Benchmark
+    public LocalDateTime fiveStepChain() {
+        return dateTime.plusDays(1).plusHours(3).withMinute(15).plusSeconds(45).minusMonths(1);
+    }
+
+    @Benchmark
+    public int fiveStepChainWithinDay() {
+        return dateTime.withHour(8).plusMinutes(30).plusSeconds(15).withNano(0).minusHours(2).getMinute();
+    }
+}
@@ -0,0 +1,60 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes ISO local date-times into a reused buffer, as done when
+ * serializing timestamps to JSON or CSV.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LocalDateTimeFormatBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class LocalDateTimeFormatBenchmark {
+
+    @Param({ "0", "123000000", "123456789" })
+    int nano;
+
+    private LocalDateTime dateTime;
+
+    private final StringBuilder builder = new StringBuilder(64);
+
+    private final char[] buffer = new char[64];
+
+    @Setup
+    public void setup() {
+        dateTime = LocalDateTime.of(2018, 3, 31, 23, 59, 30, nano);
+    }
+
+    @Benchmark
+    public int formatToStringBuilder() throws IOException {
+        builder.setLength(0);
+        dateTime.formatTo(builder);
+        return builder.length();
+    }
+
+    @Benchmark
+    public int formatToCharArray() {
+        return dateTime.formatTo(buffer, 0);
+    }
+}
@@ -0,0 +1,41 @@
+package org.jsweet.candies.j4ts.time.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses ISO local date-times in the layouts output by
+ * {@link LocalDateTime#toString()}, which never reach the js-joda
+ * formatter.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LocalDateTimeParseBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Xbootclasspath/p:target/j4ts-time.jar")
+@State(Scope.Thread)
+public class LocalDateTimeParseBenchmark {
+
+    @Param({ "2018-03-31T23:59", "2018-03-31T23:59:30", "2018-03-31T23:59:30.123", "2018-03-31T23:59:30.123456789" })
+    String text;
+
+    @Benchmark
+    public LocalDateTime parse() {
+        return LocalDateTime.parse(text);
+    }
+}
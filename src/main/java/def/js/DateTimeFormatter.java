@@ -2,6 +2,12 @@ package def.js;
 
 public class DateTimeFormatter {
 
+    /**
+     * The ISO date-time formatter that formats or parses a date-time without
+     * an offset, such as '2011-12-03T10:15:30'.
+     */
+    public static DateTimeFormatter ISO_LOCAL_DATE_TIME;
+
 	/**
      * function overloading for {@link DateTimeFormatter.parse}
      *
@@ -13,4 +19,16 @@ public class DateTimeFormatter {
      * @return {TemporalAccessor}
      */
     static native TemporalAccessor parse(CharSequence text, TemporalQuery type);
+
+    /**
+     * Creates a formatter using the specified pattern.
+     *
+     * The pattern is compiled into a formatter that can be used to format
+     * and parse any number of date-times.
+     *
+     * @param {string} pattern - the pattern to use, not null
+     * @return {DateTimeFormatter} the formatter based on the pattern, not null
+     * @throws {IllegalArgumentException} if the pattern is invalid
+     */
+    public static native DateTimeFormatter ofPattern(java.lang.String pattern);
 }
@@ -2,4 +2,12 @@ package def.js;
 
 public class DayOfWeek {
 
+    /**
+     * Obtains an instance of {@link DayOfWeek} from a day-of-week value.
+     *
+     * @param {number} dayOfWeek - the day-of-week to represent, from 1 (Monday) to 7 (Sunday)
+     * @return {DayOfWeek} the day-of-week singleton, not null
+     */
+    public native static DayOfWeek of(int dayOfWeek);
+
 }
@@ -2,4 +2,12 @@ package def.js;
 
 public class LocalDate {
 
+    /**
+     * Obtains an instance of {@link LocalDate} from the epoch day count.
+     *
+     * @param {number} epochDay - the Epoch Day to convert, based on the epoch 1970-01-01
+     * @return {LocalDate} the local date, not null
+     */
+    public native static LocalDate ofEpochDay(long epochDay);
+
 }
@@ -204,6 +204,14 @@ public class LocalDateTime implements Temporal, ChronoLocalDateTime<LocalDate>{
      */
     public native static LocalDateTime parse(String text, DateTimeFormatter formatter);
 
+    /**
+     * @see comment at {LocalDateTime.parse}
+     * @param {!string} text - the text to parse, not null
+     * @param {DateTimeFormatter} formatter - the formatter to use, not null
+     * @return {LocalDateTime} the parsed local date-time, not null
+     */
+    public native static LocalDateTime parse(java.lang.String text, DateTimeFormatter formatter);
+
     //-----------------------------------------------------------------------
     /**
      * Constructor.
@@ -2,4 +2,12 @@ package def.js;
 
 public class LocalTime {
 
+    /**
+     * Obtains an instance of {@link LocalTime} from a nanos-of-day value.
+     *
+     * @param {number} nanoOfDay - the nano of day, from 0 to 24 * 60 * 60 * 1,000,000,000 - 1
+     * @return {LocalTime} the local time, not null
+     */
+    public native static LocalTime ofNanoOfDay(long nanoOfDay);
+
 }
@@ -4,4 +4,12 @@ public class Month {
 
 	
 	 public native int value() ;
+
+    /**
+     * Obtains an instance of {@link Month} from a month value.
+     *
+     * @param {number} month - the month-of-year to represent, from 1 (January) to 12 (December)
+     * @return {Month} the month-of-year, not null
+     */
+    public native static Month of(int month);
 }
@@ -63,6 +63,9 @@ package java.time;
 
 
 
+import java.io.IOException;
+import java.util.Objects;
+
 import def.js.ChronoLocalDateTime;
 import def.js.DateTimeFormatter;
 import def.js.DayOfWeek;
@@ -133,8 +136,8 @@ public final class LocalDateTime implements Temporal{
      *
      * @return the current date-time using the system clock and default time-zone, not null
      */
-    public static def.js.LocalDateTime now() {
-    	return def.js.LocalDateTime.now(def.js.Clock.systemUTC());
+    public static LocalDateTime now() {
+    	return new LocalDateTime(def.js.LocalDateTime.now(def.js.Clock.systemUTC()));
         
     }
 
@@ -150,8 +153,8 @@ public final class LocalDateTime implements Temporal{
      * @param zone  the zone ID to use, not null
      * @return the current date-time using the system clock, not null
      */
-    public static def.js.LocalDateTime now(def.js.ZoneId zone) {
-        return  def.js.LocalDateTime.now(def.js.Clock.system(zone));
+    public static LocalDateTime now(def.js.ZoneId zone) {
+        return new LocalDateTime(def.js.LocalDateTime.now(def.js.Clock.system(zone)));
     }
 
     /**
@@ -164,8 +167,8 @@ public final class LocalDateTime implements Temporal{
      * @param clock  the clock to use, not null
      * @return the current date-time, not null
      */
-    public static def.js.LocalDateTime now(def.js.Clock clock) {
-    	return  def.js.LocalDateTime.now(clock);
+    public static LocalDateTime now(def.js.Clock clock) {
+    	return new LocalDateTime(def.js.LocalDateTime.now(clock));
     }
 
     //-----------------------------------------------------------------------
@@ -187,8 +190,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute) {
-    	return def.js.LocalDateTime.ofNumbers(year, month.value(), dayOfMonth, hour, minute, 0, 0);
+    public static LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute) {
+    	return create(year, month.value(), dayOfMonth, hour, minute, 0, 0);
     }
 
     /**
@@ -210,8 +213,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute, int second) {
-    	return def.js.LocalDateTime.ofNumbers(year, month.value(), dayOfMonth, hour, minute, second, 0);
+    public static LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute, int second) {
+    	return create(year, month.value(), dayOfMonth, hour, minute, second, 0);
     }
 
     /**
@@ -233,8 +236,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
-    	return def.js.LocalDateTime.ofNumbers(year, month.value(), dayOfMonth, hour, minute, second, 0);
+    public static LocalDateTime of(int year, Month month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
+    	return create(year, month.value(), dayOfMonth, hour, minute, second, nanoOfSecond);
     }
 
     //-----------------------------------------------------------------------
@@ -256,8 +259,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute) {
-    	return def.js.LocalDateTime.ofNumbers(year, month, dayOfMonth, hour, minute, 0, 0);
+    public static LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute) {
+    	return create(year, month, dayOfMonth, hour, minute, 0, 0);
     }
 
     /**
@@ -279,8 +282,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second) {
-    	return def.js.LocalDateTime.ofNumbers(year, month, dayOfMonth, hour, minute, second, 0);
+    public static LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second) {
+    	return create(year, month, dayOfMonth, hour, minute, second, 0);
 	}
 
     /**
@@ -302,8 +305,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the value of any field is out of range,
      *  or if the day-of-month is invalid for the month-year
      */
-    public static def.js.LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
-    	return def.js.LocalDateTime.ofNumbers(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+    public static LocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
+    	return create(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
     }
 
     /**
@@ -313,8 +316,8 @@ public final class LocalDateTime implements Temporal{
      * @param time  the local time, not null
      * @return the local date-time, not null
      */
-    public static def.js.LocalDateTime of(LocalDate date, LocalTime time) {
-    	return def.js.LocalDateTime.ofDateAndTime(date, time);
+    public static LocalDateTime of(LocalDate date, LocalTime time) {
+    	return new LocalDateTime(def.js.LocalDateTime.ofDateAndTime(date, time));
     }
 
     //-------------------------------------------------------------------------
@@ -331,8 +334,8 @@ public final class LocalDateTime implements Temporal{
      * @return the local date-time, not null
      * @throws DateTimeException if the result exceeds the supported range
      */
-    public static def.js.LocalDateTime ofInstant(Instant instant, ZoneId zone) {
-    	return def.js.LocalDateTime.ofInstant(instant, zone);
+    public static LocalDateTime ofInstant(Instant instant, ZoneId zone) {
+    	return new LocalDateTime(def.js.LocalDateTime.ofInstant(instant, zone));
     }
 
     /**
@@ -350,8 +353,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the result exceeds the supported range,
      *  or if the nano-of-second is invalid
      */
-    public static def.js.LocalDateTime ofEpochSecond(long epochSecond, int nanoOfSecond, ZoneOffset offset) {
-    	return def.js.LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset);
+    public static LocalDateTime ofEpochSecond(long epochSecond, int nanoOfSecond, ZoneOffset offset) {
+    	return new LocalDateTime(def.js.LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset));
     }
 
     //-----------------------------------------------------------------------
@@ -374,8 +377,8 @@ public final class LocalDateTime implements Temporal{
      * @return the local date-time, not null
      * @throws DateTimeException if unable to convert to a {@code LocalDateTime}
      */
-    public static def.js.LocalDateTime from(TemporalAccessor temporal) {
-    	return def.js.LocalDateTime.from(temporal);
+    public static LocalDateTime from(TemporalAccessor temporal) {
+    	return new LocalDateTime(def.js.LocalDateTime.from(temporal));
     }
 
     //-----------------------------------------------------------------------
@@ -389,10 +392,79 @@ public final class LocalDateTime implements Temporal{
      * @return the parsed local date-time, not null
      * @throws DateTimeParseException if the text cannot be parsed
      */
-    //TODO
-//    public static LocalDateTime parse(CharSequence text) {
-//        return parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-//    }
+    public static LocalDateTime parse(CharSequence text) {
+        Objects.requireNonNull(text, "text");
+        LocalDateTime dateTime = parseIsoLocalDateTime(text);
+        if (dateTime != null) {
+            return dateTime;
+        }
+        return parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Parses the layouts output by {@link #toString()} without going
+     * through a formatter, i.e., {@code uuuu-MM-dd'T'HH:mm} optionally
+     * followed by {@code :ss} and a fraction of 1 to 9 digits.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed local date-time, or null if the text isn't
+     *  a valid date-time in one of these layouts
+     */
+    private static LocalDateTime parseIsoLocalDateTime(CharSequence text) {
+        int length = text.length();
+        if (length < 16 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+            return null;
+        }
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 2);
+        int dayOfMonth = parseDigits(text, 8, 2);
+        int hour = parseDigits(text, 11, 2);
+        int minute = parseDigits(text, 14, 2);
+        int second = 0;
+        int nanoOfSecond = 0;
+        if (length > 16) {
+            if (length < 19 || text.charAt(16) != ':') {
+                return null;
+            }
+            second = parseDigits(text, 17, 2);
+            if (length > 19) {
+                if (length < 21 || length > 29 || text.charAt(19) != '.') {
+                    return null;
+                }
+                nanoOfSecond = parseDigits(text, 20, length - 20);
+                for (int i = length - 20; i < 9; i++) {
+                    nanoOfSecond *= 10;
+                }
+            }
+        }
+        if ((year | month | dayOfMonth | hour | minute | second | nanoOfSecond) < 0
+                || !isValid(year, month, dayOfMonth, hour, minute, second, nanoOfSecond)) {
+            return null;
+        }
+        return new LocalDateTime(toEpochDay(year, month, dayOfMonth),
+                hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nanoOfSecond);
+    }
+
+    /**
+     * Parses a fixed number of decimal digits.
+     *
+     * @param text  the text to parse, not null
+     * @param start  the index of the first digit
+     * @param count  the number of digits, at most 9
+     * @return the value, or -1 if any character isn't a digit
+     */
+    private static int parseDigits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start, end = start + count; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
 
     /**
      * Obtains an instance of {@code LocalDateTime} from a text string using a specific formatter.
@@ -404,36 +476,310 @@ public final class LocalDateTime implements Temporal{
      * @return the parsed local date-time, not null
      * @throws DateTimeParseException if the text cannot be parsed
      */
-    //TODO
-//    public static LocalDateTime parse(CharSequence text, DateTimeFormatter formatter) {
-//        Objects.requireNonNull(formatter, "formatter");
-//        return formatter.parse(text, LocalDateTime::from);
-//    }
+    public static LocalDateTime parse(CharSequence text, DateTimeFormatter formatter) {
+        Objects.requireNonNull(formatter, "formatter");
+        return new LocalDateTime(def.js.LocalDateTime.parse(text.toString(), formatter));
+    }
 
 
+    /**
+     * Minimum supported year.
+     */
+    private static final int MIN_YEAR = -999_999_999;
+    /**
+     * Maximum supported year.
+     */
+    private static final int MAX_YEAR = 999_999_999;
+    /**
+     * The number of days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+    /**
+     * The number of days from year zero to year 1970.
+     * There are five 400 year cycles from year zero to 2000.
+     * There are 7 leap years from 1970 to 2000.
+     */
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    /**
+     * The epoch day of {@code MIN_YEAR-01-01}.
+     */
+    private static final long MIN_EPOCH_DAY = -365243219162L;
+    /**
+     * The epoch day of {@code MAX_YEAR-12-31}.
+     */
+    private static final long MAX_EPOCH_DAY = 365241780471L;
+    /**
+     * The number of days between the minimum and the maximum date.
+     */
+    private static final long MAX_EPOCH_DAY_SPAN = MAX_EPOCH_DAY - MIN_EPOCH_DAY;
+    /**
+     * Hours per day.
+     */
+    private static final int HOURS_PER_DAY = 24;
+    /**
+     * Minutes per hour.
+     */
+    private static final int MINUTES_PER_HOUR = 60;
+    /**
+     * Minutes per day.
+     */
+    private static final int MINUTES_PER_DAY = MINUTES_PER_HOUR * HOURS_PER_DAY;
+    /**
+     * Seconds per minute.
+     */
+    private static final int SECONDS_PER_MINUTE = 60;
+    /**
+     * Seconds per day.
+     */
+    private static final int SECONDS_PER_DAY = SECONDS_PER_MINUTE * MINUTES_PER_DAY;
+    /**
+     * Nanos per second.
+     */
+    private static final long NANOS_PER_SECOND = 1000_000_000L;
+    /**
+     * Nanos per minute.
+     */
+    private static final long NANOS_PER_MINUTE = NANOS_PER_SECOND * SECONDS_PER_MINUTE;
+    /**
+     * Nanos per hour.
+     */
+    private static final long NANOS_PER_HOUR = NANOS_PER_MINUTE * MINUTES_PER_HOUR;
+    /**
+     * Nanos per day.
+     */
+    private static final long NANOS_PER_DAY = NANOS_PER_HOUR * HOURS_PER_DAY;
+    /**
+     * The tens digit of the numbers 0 to 99.
+     */
+    private static final char[] DIGIT_TENS = new char[100];
+    /**
+     * The ones digit of the numbers 0 to 99.
+     */
+    private static final char[] DIGIT_ONES = new char[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+    }
+
+    /**
+     * The date part, as the number of days from the epoch of 1970-01-01.
+     */
+    private final long epochDay;
+    /**
+     * The time part, as the nano-of-day from 0 to 24 * 60 * 60 * 1,000,000,000 - 1.
+     */
+    private final long nanoOfDay;
+    /**
+     * The js-joda date-time for the operations delegated to it, created
+     * on first use.
+     */
     private def.js.LocalDateTime localDateTime;
-    
+
     //-----------------------------------------------------------------------
+    /**
+     * Obtains an instance of {@code LocalDateTime} from the field values,
+     * which are packed without creating a js-joda date-time.
+     *
+     * @return the local date-time, not null
+     * @throws DateTimeException if the value of any field is out of range,
+     *  or if the day-of-month is invalid for the month-year
+     */
+    private static LocalDateTime create(int year, int month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
+        if (!isValid(year, month, dayOfMonth, hour, minute, second, nanoOfSecond)) {
+            // let js-joda report the invalid field
+            return new LocalDateTime(def.js.LocalDateTime.ofNumbers(year, month, dayOfMonth, hour, minute, second, nanoOfSecond));
+        }
+        return new LocalDateTime(toEpochDay(year, month, dayOfMonth),
+                hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nanoOfSecond);
+    }
+
+    /**
+     * Checks if the field values represent a valid date-time.
+     *
+     * @return true if all values are in range and the day-of-month is
+     *  valid for the month-year
+     */
+    private static boolean isValid(int year, int month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
+        return year >= MIN_YEAR && year <= MAX_YEAR && month >= 1 && month <= 12
+                && dayOfMonth >= 1 && dayOfMonth <= lengthOfMonth(year, month)
+                && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59
+                && second >= 0 && second <= 59 && nanoOfSecond >= 0 && nanoOfSecond < NANOS_PER_SECOND;
+    }
+
     /**
      * Constructor.
      *
-     * @param date  the date part of the date-time, validated not null
-     * @param time  the time part of the date-time, validated not null
+     * @param epochDay  the date part of the date-time, validated
+     * @param nanoOfDay  the time part of the date-time, validated
+     */
+    private LocalDateTime(long epochDay, long nanoOfDay) {
+        this.epochDay = epochDay;
+        this.nanoOfDay = nanoOfDay;
+    }
+
+    /**
+     * Constructor packing the fields of a js-joda date-time.
+     *
+     * @param localDateTime  the js-joda date-time, not null
+     */
+    private LocalDateTime(def.js.LocalDateTime localDateTime) {
+        this.epochDay = toEpochDay(localDateTime.year(), localDateTime.monthValue(), localDateTime.dayOfMonth());
+        this.nanoOfDay = localDateTime.hour() * NANOS_PER_HOUR + localDateTime.minute() * NANOS_PER_MINUTE
+                + localDateTime.second() * NANOS_PER_SECOND + localDateTime.nano();
+        this.localDateTime = localDateTime;
+    }
+
+    /**
+     * Returns the js-joda date-time equal to this date-time, creating it
+     * if this is the first delegated call.
+     *
+     * @return the js-joda date-time, not null
+     */
+    private def.js.LocalDateTime jsDateTime() {
+        def.js.LocalDateTime dateTime = localDateTime;
+        if (dateTime == null) {
+            long date = decodeEpochDay(epochDay);
+            dateTime = def.js.LocalDateTime.ofNumbers(yearOf(date), monthOf(date), dayOfMonthOf(date),
+                    getHour(), getMinute(), getSecond(), getNano());
+            localDateTime = dateTime;
+        }
+        return dateTime;
+    }
+
+    /**
+     * Returns the temporal to pass to js-joda in place of the specified one,
+     * which is the js-joda date-time of a {@code LocalDateTime}.
+     *
+     * @param temporal  the temporal, not null
+     * @return the js-joda date-time if the temporal is a {@code LocalDateTime},
+     *  otherwise the temporal itself
+     */
+    private static Temporal jsTemporal(Temporal temporal) {
+        if (temporal instanceof LocalDateTime) {
+            return ((LocalDateTime) temporal).jsDateTime();
+        }
+        return temporal;
+    }
+
+    /**
+     * Converts a validated ISO date to the epoch day, as in
+     * {@code LocalDate.toEpochDay()}.
+     */
+    private static long toEpochDay(int year, int month, int dayOfMonth) {
+        long y = year;
+        long m = month;
+        long total = 0;
+        total += 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += ((367 * m - 362) / 12);
+        total += dayOfMonth - 1;
+        if (m > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Converts the epoch day to the ISO date, as in
+     * {@code LocalDate.ofEpochDay(long)}. The date is returned as
+     * {@code year * 512 + month * 32 + dayOfMonth}, and read with
+     * {@link #yearOf(long)}, {@link #monthOf(long)} and
+     * {@link #dayOfMonthOf(long)}. It is packed with arithmetic rather
+     * than shifts, since the shifts of the transpiled code only keep 32
+     * bits, and stays exact as a JavaScript number for every year.
+     */
+    private static long decodeEpochDay(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // find the march-based year
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;  // reset any negative year
+        int marchDoy0 = (int) doyEst;
+
+        // convert march-based values back to january-based
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return yearEst * 512 + month * 32 + dom;
+    }
+
+    /**
+     * Returns the year of a date returned by {@link #decodeEpochDay(long)}.
+     */
+    private static int yearOf(long date) {
+        return (int) Math.floorDiv(date, 512);
+    }
+
+    /**
+     * Returns the month of a date returned by {@link #decodeEpochDay(long)}.
+     */
+    private static int monthOf(long date) {
+        return (int) Math.floorMod(date, 512) / 32;
+    }
+
+    /**
+     * Returns the day-of-month of a date returned by
+     * {@link #decodeEpochDay(long)}.
      */
-    private LocalDateTime(LocalDate date, LocalTime time) {
-    	localDateTime = new def.js.LocalDateTime(date,time);
+    private static int dayOfMonthOf(long date) {
+        return (int) Math.floorMod(date, 32);
+    }
+
+    private static boolean isLeapYear(long year) {
+        return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (isLeapYear(year) ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
     }
 
     /**
      * Returns a copy of this date-time with the new date and time, checking
      * to see if a new object is in fact required.
      *
-     * @param newDate  the date of the new date-time, not null
-     * @param newTime  the time of the new date-time, not null
+     * @param newEpochDay  the date of the new date-time, validated
+     * @param newNanoOfDay  the time of the new date-time, validated
      * @return the date-time, not null
      */
-    private def.js.LocalDateTime with(LocalDate newDate, LocalTime newTime) {
-    	return localDateTime._withDateTime(newDate, newTime);
+    private LocalDateTime with(long newEpochDay, long newNanoOfDay) {
+        if (epochDay == newEpochDay && nanoOfDay == newNanoOfDay) {
+            return this;
+        }
+        return new LocalDateTime(newEpochDay, newNanoOfDay);
     }
 
     //-----------------------------------------------------------------------
@@ -488,7 +834,7 @@ public final class LocalDateTime implements Temporal{
      * @return true if the field is supported on this date-time, false if not
      */
     public boolean isSupported(TemporalField field) {
-    	return localDateTime.isSupported(field);
+    	return jsDateTime().isSupported(field);
     }
 
     /**
@@ -529,7 +875,7 @@ public final class LocalDateTime implements Temporal{
      */
     
     public boolean isSupported(TemporalUnit unit) {
-        return localDateTime.isSupported(unit);
+        return jsDateTime().isSupported(unit);
     }
 
     //-----------------------------------------------------------------------
@@ -557,7 +903,7 @@ public final class LocalDateTime implements Temporal{
      * @throws UnsupportedTemporalTypeException if the field is not supported
      */
     public ValueRange range(TemporalField field) {
-    	return localDateTime.range(field);
+    	return jsDateTime().range(field);
     }
 
     /**
@@ -590,7 +936,7 @@ public final class LocalDateTime implements Temporal{
      */
    
     public int get(TemporalField field) {
-    	return localDateTime.get(field);
+    	return jsDateTime().get(field);
     }
 
 
@@ -619,7 +965,7 @@ public final class LocalDateTime implements Temporal{
      */
     
     public long getLong(TemporalField field) {
-        return localDateTime.getLong(field);
+        return jsDateTime().getLong(field);
     }
 
     //-----------------------------------------------------------------------
@@ -633,7 +979,7 @@ public final class LocalDateTime implements Temporal{
      */
 
     public LocalDate toLocalDate() {
-        return localDateTime.toLocalDate();
+        return LocalDate.ofEpochDay(epochDay);
     }
 
     /**
@@ -647,7 +993,7 @@ public final class LocalDateTime implements Temporal{
      * @return the year, from MIN_YEAR to MAX_YEAR
      */
     public int getYear() {
-        return localDateTime.year();
+        return yearOf(decodeEpochDay(epochDay));
     }
 
     /**
@@ -661,7 +1007,7 @@ public final class LocalDateTime implements Temporal{
      * @see #getMonth()
      */
     public int getMonthValue() {
-        return localDateTime.monthValue();
+        return monthOf(decodeEpochDay(epochDay));
     }
 
     /**
@@ -676,7 +1022,7 @@ public final class LocalDateTime implements Temporal{
      * @see #getMonthValue()
      */
     public Month getMonth() {
-        return localDateTime.month();
+        return Month.of(getMonthValue());
     }
 
     /**
@@ -687,7 +1033,7 @@ public final class LocalDateTime implements Temporal{
      * @return the day-of-month, from 1 to 31
      */
     public int getDayOfMonth() {
-        return localDateTime.dayOfMonth();
+        return dayOfMonthOf(decodeEpochDay(epochDay));
     }
 
     /**
@@ -698,7 +1044,7 @@ public final class LocalDateTime implements Temporal{
      * @return the day-of-year, from 1 to 365, or 366 in a leap year
      */
     public int getDayOfYear() {
-        return localDateTime.dayOfYear();
+        return (int) (epochDay - toEpochDay(getYear(), 1, 1)) + 1;
     }
 
     /**
@@ -715,7 +1061,8 @@ public final class LocalDateTime implements Temporal{
      * @return the day-of-week, not null
      */
     public DayOfWeek getDayOfWeek() {
-        return localDateTime.dayOfWeek();
+        // 1970-01-01 is a Thursday
+        return DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7) + 1);
     }
 
     //-----------------------------------------------------------------------
@@ -728,7 +1075,7 @@ public final class LocalDateTime implements Temporal{
      * @return the time part of this date-time, not null
      */
     public LocalTime toLocalTime() {
-        return localDateTime.toLocalTime();
+        return LocalTime.ofNanoOfDay(nanoOfDay);
     }
 
     /**
@@ -737,7 +1084,7 @@ public final class LocalDateTime implements Temporal{
      * @return the hour-of-day, from 0 to 23
      */
     public int getHour() {
-        return localDateTime.hour();
+        return (int) (nanoOfDay / NANOS_PER_HOUR);
     }
 
     /**
@@ -746,7 +1093,7 @@ public final class LocalDateTime implements Temporal{
      * @return the minute-of-hour, from 0 to 59
      */
     public int getMinute() {
-        return localDateTime.minute();
+        return (int) ((nanoOfDay / NANOS_PER_MINUTE) % MINUTES_PER_HOUR);
     }
 
     /**
@@ -755,7 +1102,7 @@ public final class LocalDateTime implements Temporal{
      * @return the second-of-minute, from 0 to 59
      */
     public int getSecond() {
-        return localDateTime.second();
+        return (int) ((nanoOfDay / NANOS_PER_SECOND) % SECONDS_PER_MINUTE);
     }
 
     /**
@@ -764,7 +1111,7 @@ public final class LocalDateTime implements Temporal{
      * @return the nano-of-second, from 0 to 999,999,999
      */
     public int getNano() {
-        return localDateTime.nano();
+        return (int) (nanoOfDay % NANOS_PER_SECOND);
     }
 
     //-----------------------------------------------------------------------
@@ -813,8 +1160,8 @@ public final class LocalDateTime implements Temporal{
      * @throws ArithmeticException if numeric overflow occurs
      */
     
-    public def.js.LocalDateTime with(TemporalAdjuster adjuster) {
-    	return localDateTime.withAdjuster(adjuster);
+    public LocalDateTime with(TemporalAdjuster adjuster) {
+    	return new LocalDateTime(jsDateTime().withAdjuster(adjuster));
     }
 
     /**
@@ -851,8 +1198,8 @@ public final class LocalDateTime implements Temporal{
      * @throws UnsupportedTemporalTypeException if the field is not supported
      * @throws ArithmeticException if numeric overflow occurs
      */
-    public def.js.LocalDateTime with(TemporalField field, long newValue) {
-    	return localDateTime.withFieldValue(field,newValue);
+    public LocalDateTime with(TemporalField field, long newValue) {
+    	return new LocalDateTime(jsDateTime().withFieldValue(field,newValue));
     }
 
     //-----------------------------------------------------------------------
@@ -868,8 +1215,12 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested year, not null
      * @throws DateTimeException if the year value is invalid
      */
-    public def.js.LocalDateTime withYear(int year) {
-        return localDateTime.withYear(year);
+    public LocalDateTime withYear(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return new LocalDateTime(jsDateTime().withYear(year));
+        }
+        long date = decodeEpochDay(epochDay);
+        return resolvePreviousValid(year, monthOf(date), dayOfMonthOf(date));
     }
 
     /**
@@ -884,8 +1235,12 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested month, not null
      * @throws DateTimeException if the month-of-year value is invalid
      */
-    public def.js.LocalDateTime withMonth(int month) {
-        return localDateTime.withMonth(month);
+    public LocalDateTime withMonth(int month) {
+        if (month < 1 || month > 12) {
+            return new LocalDateTime(jsDateTime().withMonth(month));
+        }
+        long date = decodeEpochDay(epochDay);
+        return resolvePreviousValid(yearOf(date), month, dayOfMonthOf(date));
     }
 
     /**
@@ -901,8 +1256,14 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the day-of-month value is invalid,
      *  or if the day-of-month is invalid for the month-year
      */
-    public def.js.LocalDateTime withDayOfMonth(int dayOfMonth) {
-    	 return localDateTime.withDayOfMonth(dayOfMonth);
+    public LocalDateTime withDayOfMonth(int dayOfMonth) {
+        long date = decodeEpochDay(epochDay);
+        int year = yearOf(date);
+        int month = monthOf(date);
+        if (dayOfMonth < 1 || dayOfMonth > lengthOfMonth(year, month)) {
+            return new LocalDateTime(jsDateTime().withDayOfMonth(dayOfMonth));
+        }
+        return with(toEpochDay(year, month, dayOfMonth), nanoOfDay);
     }
 
     /**
@@ -917,8 +1278,12 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the day-of-year value is invalid,
      *  or if the day-of-year is invalid for the year
      */
-    public  def.js.LocalDateTime withDayOfYear(int dayOfYear) {
-        return localDateTime.withDayOfYear(dayOfYear);
+    public LocalDateTime withDayOfYear(int dayOfYear) {
+        int year = getYear();
+        if (dayOfYear < 1 || dayOfYear > (isLeapYear(year) ? 366 : 365)) {
+            return new LocalDateTime(jsDateTime().withDayOfYear(dayOfYear));
+        }
+        return with(toEpochDay(year, 1, 1) + dayOfYear - 1, nanoOfDay);
     }
 
     //-----------------------------------------------------------------------
@@ -931,8 +1296,11 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested hour, not null
      * @throws DateTimeException if the hour value is invalid
      */
-    public def.js.LocalDateTime withHour(int hour) {
-        return localDateTime.withHour(hour);
+    public LocalDateTime withHour(int hour) {
+        if (hour < 0 || hour > 23) {
+            return new LocalDateTime(jsDateTime().withHour(hour));
+        }
+        return with(epochDay, nanoOfDay + (hour - getHour()) * NANOS_PER_HOUR);
     }
 
     /**
@@ -944,8 +1312,11 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested minute, not null
      * @throws DateTimeException if the minute value is invalid
      */
-    public def.js.LocalDateTime withMinute(int minute) {
-    	 return localDateTime.withMinute(minute);
+    public LocalDateTime withMinute(int minute) {
+        if (minute < 0 || minute > 59) {
+            return new LocalDateTime(jsDateTime().withMinute(minute));
+        }
+        return with(epochDay, nanoOfDay + (minute - getMinute()) * NANOS_PER_MINUTE);
     }
 
     /**
@@ -957,8 +1328,11 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested second, not null
      * @throws DateTimeException if the second value is invalid
      */
-    public  def.js.LocalDateTime withSecond(int second) {
-   	 return localDateTime.withSecond(second);
+    public LocalDateTime withSecond(int second) {
+        if (second < 0 || second > 59) {
+            return new LocalDateTime(jsDateTime().withSecond(second));
+        }
+        return with(epochDay, nanoOfDay + (second - getSecond()) * NANOS_PER_SECOND);
     }
 
     /**
@@ -970,8 +1344,11 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the requested nanosecond, not null
      * @throws DateTimeException if the nano value is invalid
      */
-    public def.js.LocalDateTime withNano(int nanoOfSecond) {
-    	return localDateTime.withNano(nanoOfSecond);
+    public LocalDateTime withNano(int nanoOfSecond) {
+        if (nanoOfSecond < 0 || nanoOfSecond >= NANOS_PER_SECOND) {
+            return new LocalDateTime(jsDateTime().withNano(nanoOfSecond));
+        }
+        return with(epochDay, nanoOfDay + (nanoOfSecond - getNano()));
     }
 
     //-----------------------------------------------------------------------
@@ -995,8 +1372,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if unable to truncate
      * @throws UnsupportedTemporalTypeException if the unit is not supported
      */
-    public def.js.LocalDateTime truncatedTo(TemporalUnit unit) {
-        return localDateTime.truncatedTo(unit);
+    public LocalDateTime truncatedTo(TemporalUnit unit) {
+        return new LocalDateTime(jsDateTime().truncatedTo(unit));
     }
 
     //-----------------------------------------------------------------------
@@ -1020,8 +1397,8 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if the addition cannot be made
      * @throws ArithmeticException if numeric overflow occurs
      */
-    public def.js.LocalDateTime plus(TemporalAmount amountToAdd) {
-    	return localDateTime.plusAmount(amountToAdd);
+    public LocalDateTime plus(TemporalAmount amountToAdd) {
+    	return new LocalDateTime(jsDateTime().plusAmount(amountToAdd));
     }
 
     /**
@@ -1050,8 +1427,8 @@ public final class LocalDateTime implements Temporal{
      * @throws UnsupportedTemporalTypeException if the unit is not supported
      * @throws ArithmeticException if numeric overflow occurs
      */
-    public def.js.LocalDateTime plus(long amountToAdd, TemporalUnit unit) {
-    	return localDateTime.plusAmountUnit(amountToAdd, unit);
+    public LocalDateTime plus(long amountToAdd, TemporalUnit unit) {
+    	return new LocalDateTime(jsDateTime().plusAmountUnit(amountToAdd, unit));
     }
 
     //-----------------------------------------------------------------------
@@ -1075,8 +1452,17 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the years added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusYears(long years) {
-        return localDateTime.plusYears(years);
+    public LocalDateTime plusYears(long years) {
+        if (years == 0) {
+            return this;
+        }
+        long date = decodeEpochDay(epochDay);
+        long newYear = yearOf(date) + years;
+        if (years < MIN_YEAR - MAX_YEAR || years > MAX_YEAR - MIN_YEAR
+                || newYear < MIN_YEAR || newYear > MAX_YEAR) {
+            return new LocalDateTime(jsDateTime().plusYears(years));
+        }
+        return resolvePreviousValid((int) newYear, monthOf(date), dayOfMonthOf(date));
     }
 
     /**
@@ -1099,8 +1485,19 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the months added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusMonths(long months) {
-        return localDateTime.plusMonths(months);
+    public LocalDateTime plusMonths(long months) {
+        if (months == 0) {
+            return this;
+        }
+        long date = decodeEpochDay(epochDay);
+        long monthCount = yearOf(date) * 12L + (monthOf(date) - 1);
+        long calcMonths = monthCount + months;  // safe overflow
+        long newYear = Math.floorDiv(calcMonths, 12);
+        if (months < (MIN_YEAR - MAX_YEAR) * 12L || months > (MAX_YEAR - MIN_YEAR) * 12L
+                || newYear < MIN_YEAR || newYear > MAX_YEAR) {
+            return new LocalDateTime(jsDateTime().plusMonths(months));
+        }
+        return resolvePreviousValid((int) newYear, (int) Math.floorMod(calcMonths, 12) + 1, dayOfMonthOf(date));
     }
 
     /**
@@ -1118,8 +1515,11 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the weeks added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusWeeks(long weeks) {
-        return localDateTime.plusWeeks(weeks);
+    public LocalDateTime plusWeeks(long weeks) {
+        if (weeks < -MAX_EPOCH_DAY_SPAN / 7 || weeks > MAX_EPOCH_DAY_SPAN / 7) {
+            return new LocalDateTime(jsDateTime().plusWeeks(weeks));
+        }
+        return plusDays(weeks * 7);
     }
 
     /**
@@ -1137,8 +1537,16 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the days added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusDays(long days) {
-        return localDateTime.plusDays(days);
+    public LocalDateTime plusDays(long days) {
+        if (days == 0) {
+            return this;
+        }
+        long newEpochDay = epochDay + days;
+        if (days < -MAX_EPOCH_DAY_SPAN || days > MAX_EPOCH_DAY_SPAN
+                || newEpochDay < MIN_EPOCH_DAY || newEpochDay > MAX_EPOCH_DAY) {
+            return new LocalDateTime(jsDateTime().plusDays(days));
+        }
+        return new LocalDateTime(newEpochDay, nanoOfDay);
     }
 
     //-----------------------------------------------------------------------
@@ -1151,8 +1559,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the hours added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusHours(long hours) {
-        return localDateTime.plusHours(hours);
+    public LocalDateTime plusHours(long hours) {
+        return plusWithOverflow(hours, 0, 0, 0, 1);
     }
 
     /**
@@ -1164,8 +1572,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the minutes added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusMinutes(long minutes) {
-        return localDateTime.plusMinutes(minutes);
+    public LocalDateTime plusMinutes(long minutes) {
+        return plusWithOverflow(0, minutes, 0, 0, 1);
     }
 
     /**
@@ -1177,8 +1585,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the seconds added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusSeconds(long seconds) {
-        return localDateTime.plusSeconds(seconds);
+    public LocalDateTime plusSeconds(long seconds) {
+        return plusWithOverflow(0, 0, seconds, 0, 1);
     }
 
     /**
@@ -1190,8 +1598,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the nanoseconds added, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime plusNanos(long nanos) {
-    	return localDateTime.plusNanos(nanos);
+    public LocalDateTime plusNanos(long nanos) {
+        return plusWithOverflow(0, 0, 0, nanos, 1);
     }
 
     //-----------------------------------------------------------------------
@@ -1216,8 +1624,8 @@ public final class LocalDateTime implements Temporal{
      * @throws ArithmeticException if numeric overflow occurs
      */
     
-    public def.js.LocalDateTime minus(TemporalAmount amountToSubtract) {
-        return localDateTime.minusAmount(amountToSubtract);
+    public LocalDateTime minus(TemporalAmount amountToSubtract) {
+        return new LocalDateTime(jsDateTime().minusAmount(amountToSubtract));
     }
     
     /**
@@ -1240,8 +1648,8 @@ public final class LocalDateTime implements Temporal{
      * @throws ArithmeticException if numeric overflow occurs
      */
     
-    public def.js.LocalDateTime minus(long amountToSubtract, TemporalUnit unit) {
-        return localDateTime.minusAmountUnit(amountToSubtract, unit);
+    public LocalDateTime minus(long amountToSubtract, TemporalUnit unit) {
+        return new LocalDateTime(jsDateTime().minusAmountUnit(amountToSubtract, unit));
     }
 
     //-----------------------------------------------------------------------
@@ -1265,8 +1673,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the years subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusYears(long years) {
-        return localDateTime.minusYears(years);
+    public LocalDateTime minusYears(long years) {
+        return (years == Long.MIN_VALUE ? plusYears(Long.MAX_VALUE).plusYears(1) : plusYears(-years));
     }
 
     /**
@@ -1289,8 +1697,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the months subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusMonths(long months) {
-        return localDateTime.minusMonths(months);
+    public LocalDateTime minusMonths(long months) {
+        return (months == Long.MIN_VALUE ? plusMonths(Long.MAX_VALUE).plusMonths(1) : plusMonths(-months));
     }
 
     /**
@@ -1308,8 +1716,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the weeks subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusWeeks(long weeks) {
-        return localDateTime.minusWeeks(weeks);
+    public LocalDateTime minusWeeks(long weeks) {
+        return (weeks == Long.MIN_VALUE ? plusWeeks(Long.MAX_VALUE).plusWeeks(1) : plusWeeks(-weeks));
     }
 
     /**
@@ -1327,8 +1735,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the days subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusDays(long days) {
-        return localDateTime.minusDays(days);
+    public LocalDateTime minusDays(long days) {
+        return (days == Long.MIN_VALUE ? plusDays(Long.MAX_VALUE).plusDays(1) : plusDays(-days));
     }
 
     //-----------------------------------------------------------------------
@@ -1341,9 +1749,9 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the hours subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusHours(long hours) {
-        return localDateTime.minusHours(hours);
-   }
+    public LocalDateTime minusHours(long hours) {
+        return plusWithOverflow(hours, 0, 0, 0, -1);
+    }
 
     /**
      * Returns a copy of this {@code LocalDateTime} with the specified number of minutes subtracted.
@@ -1354,8 +1762,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the minutes subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusMinutes(long minutes) {
-        return localDateTime.minusMinutes(minutes);
+    public LocalDateTime minusMinutes(long minutes) {
+        return plusWithOverflow(0, minutes, 0, 0, -1);
     }
 
     /**
@@ -1367,8 +1775,8 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the seconds subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusSeconds(long seconds) {
-        return localDateTime.minusSeconds(seconds);
+    public LocalDateTime minusSeconds(long seconds) {
+        return plusWithOverflow(0, 0, seconds, 0, -1);
     }
 
     /**
@@ -1380,8 +1788,67 @@ public final class LocalDateTime implements Temporal{
      * @return a {@code LocalDateTime} based on this date-time with the nanoseconds subtracted, not null
      * @throws DateTimeException if the result exceeds the supported date range
      */
-    public def.js.LocalDateTime minusNanos(long nanos) {
-        return localDateTime.minusNanos(nanos);
+    public LocalDateTime minusNanos(long nanos) {
+        return plusWithOverflow(0, 0, 0, nanos, -1);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of this {@code LocalDateTime} with the specified period added.
+     * <p>
+     * The period is added to the nano-of-day; the days overflowing it are
+     * added to the epoch day. No intermediate objects are created.
+     * <p>
+     * This instance is immutable and unaffected by this method call.
+     *
+     * @param hours  the hours to add, may be negative
+     * @param minutes the minutes to add, may be negative
+     * @param seconds the seconds to add, may be negative
+     * @param nanos the nanos to add, may be negative
+     * @param sign  the sign to determine add or subtract
+     * @return the combined result, not null
+     */
+    private LocalDateTime plusWithOverflow(long hours, long minutes, long seconds, long nanos, int sign) {
+        // 9223372036854775808 long, 2147483648 int
+        if ((hours | minutes | seconds | nanos) == 0) {
+            return this;
+        }
+        long totDays = nanos / NANOS_PER_DAY +             //   max/24*60*60*1B
+                seconds / SECONDS_PER_DAY +                //   max/24*60*60
+                minutes / MINUTES_PER_DAY +                //   max/24*60
+                hours / HOURS_PER_DAY;                     //   max/24
+        totDays *= sign;                                   // total max*0.4237...
+        long totNanos = nanos % NANOS_PER_DAY +                    //   max  86400000000000
+                (seconds % SECONDS_PER_DAY) * NANOS_PER_SECOND +   //   max  86400000000000
+                (minutes % MINUTES_PER_DAY) * NANOS_PER_MINUTE +   //   max  86400000000000
+                (hours % HOURS_PER_DAY) * NANOS_PER_HOUR;          //   max  86400000000000
+        totNanos = totNanos * sign + nanoOfDay;                    // total 432000000000000
+        totDays += Math.floorDiv(totNanos, NANOS_PER_DAY);
+        long newNanoOfDay = Math.floorMod(totNanos, NANOS_PER_DAY);
+        if (totDays == 0) {
+            return with(epochDay, newNanoOfDay);
+        }
+        long newEpochDay = epochDay + totDays;
+        if (totDays < -MAX_EPOCH_DAY_SPAN || totDays > MAX_EPOCH_DAY_SPAN
+                || newEpochDay < MIN_EPOCH_DAY || newEpochDay > MAX_EPOCH_DAY) {
+            // let js-joda report the overflow
+            return new LocalDateTime(sign > 0
+                    ? jsDateTime().plusHours(hours).plusMinutes(minutes).plusSeconds(seconds).plusNanos(nanos)
+                    : jsDateTime().minusHours(hours).minusMinutes(minutes).minusSeconds(seconds).minusNanos(nanos));
+        }
+        return new LocalDateTime(newEpochDay, newNanoOfDay);
+    }
+
+    /**
+     * Resolves the date, resolving days past the end of month.
+     *
+     * @param year  the year to represent, validated from MIN_YEAR to MAX_YEAR
+     * @param month  the month-of-year to represent, validated from 1 to 12
+     * @param day  the day-of-month to represent, validated from 1 to 31
+     * @return the resolved date-time, not null
+     */
+    private LocalDateTime resolvePreviousValid(int year, int month, int day) {
+        return with(toEpochDay(year, month, Math.min(day, lengthOfMonth(year, month))), nanoOfDay);
     }
 
     //-----------------------------------------------------------------------
@@ -1405,7 +1872,7 @@ public final class LocalDateTime implements Temporal{
      */
     @SuppressWarnings("unchecked")
     public <R> R query(TemporalQuery<R> query) {
-        return localDateTime.query(query);
+        return jsDateTime().query(query);
     }
 
     /**
@@ -1435,7 +1902,7 @@ public final class LocalDateTime implements Temporal{
      */
     
     public Temporal adjustInto(Temporal temporal) {
-        return localDateTime.adjustInto(temporal);
+        return jsDateTime().adjustInto(jsTemporal(temporal));
     }
 
     /**
@@ -1488,7 +1955,7 @@ public final class LocalDateTime implements Temporal{
      * @throws ArithmeticException if numeric overflow occurs
      */
     public long until(Temporal endExclusive, TemporalUnit unit) {
-    	return localDateTime.until(endExclusive, unit);
+    	return jsDateTime().until(jsTemporal(endExclusive), unit);
     }
 
     /**
@@ -1501,7 +1968,183 @@ public final class LocalDateTime implements Temporal{
      * @throws DateTimeException if an error occurs during printing
      */
     public def.js.String format(DateTimeFormatter formatter) {
-    	return localDateTime.format(formatter);
+    	return jsDateTime().format(formatter);
+    }
+
+    /**
+     * Appends this date-time in the ISO-8601 format output by
+     * {@link #toString()} to the specified {@code Appendable}.
+     * <p>
+     * No intermediate string is created, which makes this suitable for
+     * writing large numbers of date-times to a {@code StringBuilder} or a
+     * {@code Writer}.
+     *
+     * @param appendable  the appendable to format to, not null
+     * @throws IOException if the appendable throws it
+     */
+    public void formatTo(Appendable appendable) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+        long date = decodeEpochDay(epochDay);
+        int year = yearOf(date);
+        if (year < 0) {
+            appendable.append('-');
+        } else if (year > 9999) {
+            appendable.append('+');
+        }
+        int absYear = Math.abs(year);
+        if (absYear < 10000) {
+            appendTwoDigits(appendable, absYear / 100);
+            appendTwoDigits(appendable, absYear % 100);
+        } else {
+            appendDigits(appendable, absYear, powerOfTen(absYear));
+        }
+        appendable.append('-');
+        appendTwoDigits(appendable, monthOf(date));
+        appendable.append('-');
+        appendTwoDigits(appendable, dayOfMonthOf(date));
+        appendable.append('T');
+        int secondOfDay = (int) (nanoOfDay / NANOS_PER_SECOND);
+        int nanoOfSecond = (int) (nanoOfDay % NANOS_PER_SECOND);
+        appendTwoDigits(appendable, secondOfDay / 3600);
+        appendable.append(':');
+        appendTwoDigits(appendable, secondOfDay / 60 % 60);
+        if ((secondOfDay % 60 | nanoOfSecond) == 0) {
+            return;
+        }
+        appendable.append(':');
+        appendTwoDigits(appendable, secondOfDay % 60);
+        if (nanoOfSecond == 0) {
+            return;
+        }
+        appendable.append('.');
+        switch (fractionDigits(nanoOfSecond)) {
+        case 3:
+            appendDigits(appendable, nanoOfSecond / 1000_000, 100);
+            break;
+        case 6:
+            appendDigits(appendable, nanoOfSecond / 1000, 100_000);
+            break;
+        default:
+            appendDigits(appendable, nanoOfSecond, 100_000_000);
+        }
+    }
+
+    /**
+     * Writes this date-time in the ISO-8601 format output by
+     * {@link #toString()} to the specified array.
+     * <p>
+     * The output is at most 35 characters long, 29 for the years 0000 to
+     * 9999.
+     *
+     * @param buffer  the array to write to, not null
+     * @param offset  the index of the first character to write
+     * @return the index after the last character written
+     * @throws ArrayIndexOutOfBoundsException if the array is too small
+     */
+    public int formatTo(char[] buffer, int offset) {
+        long date = decodeEpochDay(epochDay);
+        int year = yearOf(date);
+        int pos = offset;
+        if (year < 0) {
+            buffer[pos++] = '-';
+        } else if (year > 9999) {
+            buffer[pos++] = '+';
+        }
+        int absYear = Math.abs(year);
+        if (absYear < 10000) {
+            pos = putTwoDigits(buffer, pos, absYear / 100);
+            pos = putTwoDigits(buffer, pos, absYear % 100);
+        } else {
+            pos = putDigits(buffer, pos, absYear, powerOfTen(absYear));
+        }
+        buffer[pos++] = '-';
+        pos = putTwoDigits(buffer, pos, monthOf(date));
+        buffer[pos++] = '-';
+        pos = putTwoDigits(buffer, pos, dayOfMonthOf(date));
+        buffer[pos++] = 'T';
+        int secondOfDay = (int) (nanoOfDay / NANOS_PER_SECOND);
+        int nanoOfSecond = (int) (nanoOfDay % NANOS_PER_SECOND);
+        pos = putTwoDigits(buffer, pos, secondOfDay / 3600);
+        buffer[pos++] = ':';
+        pos = putTwoDigits(buffer, pos, secondOfDay / 60 % 60);
+        if ((secondOfDay % 60 | nanoOfSecond) == 0) {
+            return pos;
+        }
+        buffer[pos++] = ':';
+        pos = putTwoDigits(buffer, pos, secondOfDay % 60);
+        if (nanoOfSecond == 0) {
+            return pos;
+        }
+        buffer[pos++] = '.';
+        switch (fractionDigits(nanoOfSecond)) {
+        case 3:
+            return putDigits(buffer, pos, nanoOfSecond / 1000_000, 100);
+        case 6:
+            return putDigits(buffer, pos, nanoOfSecond / 1000, 100_000);
+        default:
+            return putDigits(buffer, pos, nanoOfSecond, 100_000_000);
+        }
+    }
+
+    /**
+     * Gets the number of fraction digits output for a nano-of-second.
+     *
+     * @param nanoOfSecond  the nano-of-second, from 1 to 999,999,999
+     * @return 3, 6 or 9
+     */
+    private static int fractionDigits(int nanoOfSecond) {
+        if (nanoOfSecond % 1000_000 == 0) {
+            return 3;
+        }
+        return nanoOfSecond % 1000 == 0 ? 6 : 9;
+    }
+
+    /**
+     * Gets the largest power of ten that is not greater than a value.
+     *
+     * @param value  the value, positive
+     * @return the power of ten
+     */
+    private static int powerOfTen(int value) {
+        int power = 1;
+        while (value / power >= 10) {
+            power *= 10;
+        }
+        return power;
+    }
+
+    private static void appendTwoDigits(Appendable appendable, int value) throws IOException {
+        appendable.append(DIGIT_TENS[value]).append(DIGIT_ONES[value]);
+    }
+
+    /**
+     * Appends a value zero-padded to the number of digits of a divisor.
+     *
+     * @param divisor  the power of ten of the leading digit
+     */
+    private static void appendDigits(Appendable appendable, int value, int divisor) throws IOException {
+        for (; divisor > 0; divisor /= 10) {
+            appendable.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int putTwoDigits(char[] buffer, int pos, int value) {
+        buffer[pos] = DIGIT_TENS[value];
+        buffer[pos + 1] = DIGIT_ONES[value];
+        return pos + 2;
+    }
+
+    /**
+     * Writes a value zero-padded to the number of digits of a divisor.
+     *
+     * @param divisor  the power of ten of the leading digit
+     * @return the index after the last digit
+     */
+    private static int putDigits(char[] buffer, int pos, int value, int divisor) {
+        for (; divisor > 0; divisor /= 10) {
+            buffer[pos++] = (char) ('0' + value / divisor % 10);
+        }
+        return pos;
     }
 
     //-----------------------------------------------------------------------
@@ -1515,7 +2158,7 @@ public final class LocalDateTime implements Temporal{
      * @return the offset date-time formed from this date-time and the specified offset, not null
      */
     public OffsetDateTime atOffset(ZoneOffset offset) {
-        return localDateTime.atOffset(offset);
+        return jsDateTime().atOffset(offset);
     }
 
     /**
@@ -1548,7 +2191,7 @@ public final class LocalDateTime implements Temporal{
      * @return the zoned date-time formed from this date-time, not null
      */
     public ZonedDateTime atZone(ZoneId zone) {
-        return localDateTime.atZone(zone);
+        return jsDateTime().atZone(zone);
     }
 
     //-----------------------------------------------------------------------
@@ -1567,7 +2210,24 @@ public final class LocalDateTime implements Temporal{
      * @return the comparator value, negative if less, positive if greater
      */
     public int compareTo(ChronoLocalDateTime<?> other) {
-    	return localDateTime.compareTo(other);
+    	return jsDateTime().compareTo(other);
+    }
+
+    /**
+     * Compares this date-time to another date-time.
+     * <p>
+     * The comparison is based on the date-time position on the local
+     * time-line, as in {@link #compareTo(ChronoLocalDateTime)}.
+     *
+     * @param other  the other date-time to compare to, not null
+     * @return the comparator value, negative if less, positive if greater
+     */
+    public int compareTo(LocalDateTime other) {
+        int cmp = Long.compare(epochDay, other.epochDay);
+        if (cmp == 0) {
+            cmp = Long.compare(nanoOfDay, other.nanoOfDay);
+        }
+        return cmp;
     }
 
     /**
@@ -1592,7 +2252,20 @@ public final class LocalDateTime implements Temporal{
      * @return true if this date-time is after the specified date-time
      */
     public boolean isAfter(ChronoLocalDateTime<?> other) {
-    	return localDateTime.isAfter(other);
+    	return jsDateTime().isAfter(other);
+    }
+
+    /**
+     * Checks if this date-time is after the specified date-time.
+     * <p>
+     * This compares the local time-line positions of the two date-times,
+     * as in {@link #isAfter(ChronoLocalDateTime)}.
+     *
+     * @param other  the other date-time to compare to, not null
+     * @return true if this date-time is after the specified date-time
+     */
+    public boolean isAfter(LocalDateTime other) {
+        return compareTo(other) > 0;
     }
 
     /**
@@ -1617,7 +2290,20 @@ public final class LocalDateTime implements Temporal{
      * @return true if this date-time is before the specified date-time
      */
     public boolean isBefore(ChronoLocalDateTime<?> other) {
-    	return localDateTime.isBefore(other);
+    	return jsDateTime().isBefore(other);
+    }
+
+    /**
+     * Checks if this date-time is before the specified date-time.
+     * <p>
+     * This compares the local time-line positions of the two date-times,
+     * as in {@link #isBefore(ChronoLocalDateTime)}.
+     *
+     * @param other  the other date-time to compare to, not null
+     * @return true if this date-time is before the specified date-time
+     */
+    public boolean isBefore(LocalDateTime other) {
+        return compareTo(other) < 0;
     }
 
     /**
@@ -1642,7 +2328,20 @@ public final class LocalDateTime implements Temporal{
      * @return true if this date-time is equal to the specified date-time
      */
     public boolean isEqual(ChronoLocalDateTime<?> other) {
-    	return localDateTime.isEqual(other);
+    	return jsDateTime().isEqual(other);
+    }
+
+    /**
+     * Checks if this date-time is equal to the specified date-time.
+     * <p>
+     * This compares the local time-line positions of the two date-times,
+     * as in {@link #isEqual(ChronoLocalDateTime)}.
+     *
+     * @param other  the other date-time to compare to, not null
+     * @return true if this date-time is equal to the specified date-time
+     */
+    public boolean isEqual(LocalDateTime other) {
+        return compareTo(other) == 0;
     }
 
     //-----------------------------------------------------------------------
@@ -1657,7 +2356,14 @@ public final class LocalDateTime implements Temporal{
      */
     @Override
     public boolean equals(Object obj) {
-    	return localDateTime.equals(obj);
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LocalDateTime) {
+            LocalDateTime other = (LocalDateTime) obj;
+            return epochDay == other.epochDay && nanoOfDay == other.nanoOfDay;
+        }
+        return false;
     }
 
     /**
@@ -1667,7 +2373,13 @@ public final class LocalDateTime implements Temporal{
      */
     @Override
     public int hashCode() {
-        return localDateTime.hashCode();
+        long date = decodeEpochDay(epochDay);
+        int yearValue = yearOf(date);
+        int dateHash = (yearValue & 0xFFFFF800)
+                ^ ((yearValue << 11) + (monthOf(date) << 6) + dayOfMonthOf(date));
+        // the high bits are divided out, since a shift by 32 is lost in
+        // the transpiled code; the nano-of-day is positive
+        return dateHash ^ (int) nanoOfDay ^ (int) (nanoOfDay / 0x100000000L);
     }
 
     //-----------------------------------------------------------------------
@@ -1689,7 +2401,7 @@ public final class LocalDateTime implements Temporal{
      */
     @Override
     public String toString() {
-        return localDateTime.toString();
+        return jsDateTime().toString();
     }
 
     //-----------------------------------------------------------------------
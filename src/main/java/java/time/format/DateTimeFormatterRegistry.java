@@ -0,0 +1,88 @@
+package java.time.format;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import def.js.DateTimeFormatter;
+
+/**
+ * A registry of the formatters created from patterns.
+ * <p>
+ * Compiling a pattern into a js-joda {@code DateTimeFormatter} parses the
+ * whole pattern every time. This registry compiles each pattern once and
+ * hands out the same formatter for all later {@code format} and
+ * {@code parse} calls. Formatters are immutable and thread-safe, so they
+ * can be shared freely.
+ * <p>
+ * The registry holds at most {@value #MAX_SIZE} patterns. When it is
+ * full, an arbitrary pattern is evicted for each new one, so that an
+ * unbounded number of distinct patterns cannot exhaust memory.
+ * <p>
+ * The js-joda core formatters don't depend on a locale (text fields
+ * require the js-joda locale plugin), hence the patterns are the keys.
+ *
+ * @implSpec
+ * This class is thread-safe.
+ */
+public final class DateTimeFormatterRegistry {
+
+    /**
+     * The maximum number of cached patterns.
+     */
+    static final int MAX_SIZE = 256;
+
+    /**
+     * The compiled formatters by pattern.
+     */
+    private static final ConcurrentMap<String, DateTimeFormatter> FORMATTERS =
+            new ConcurrentHashMap<>(16, 0.75f, 2);
+
+    /**
+     * Restricted constructor.
+     */
+    private DateTimeFormatterRegistry() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains the formatter for the specified pattern.
+     * <p>
+     * The formatter is compiled on the first request of the pattern, and
+     * the same instance is returned for later requests as long as the
+     * pattern stays registered.
+     *
+     * @param pattern  the pattern to use, not null
+     * @return the formatter based on the pattern, not null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static DateTimeFormatter ofPattern(String pattern) {
+        Objects.requireNonNull(pattern, "pattern");
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            if (FORMATTERS.size() >= MAX_SIZE) {
+                Iterator<String> it = FORMATTERS.keySet().iterator();
+                if (it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+            DateTimeFormatter cached = FORMATTERS.putIfAbsent(pattern, formatter);
+            if (cached != null) {
+                formatter = cached;
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * Returns the number of patterns currently registered.
+     *
+     * @return the number of registered patterns
+     */
+    public static int size() {
+        return FORMATTERS.size();
+    }
+}
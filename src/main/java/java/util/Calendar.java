@@ -53,10 +53,15 @@ import java.security.ProtectionDomain;
 import java.text.DateFormat;
 import java.text.DateFormatSymbols;
 import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import sun.util.BuddhistCalendar;
+import sun.util.TransitionTimeZone;
 import sun.util.calendar.ZoneInfo;
 import sun.util.locale.provider.CalendarDataUtility;
+import sun.util.locale.provider.CalendarProviderImpl;
 import sun.util.locale.provider.LocaleProviderAdapter;
 import sun.util.spi.CalendarProvider;
 
@@ -854,9 +859,11 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
     /**
      * Pseudo-time-stamps which specify when each field was set. There
      * are two special values, UNSET and COMPUTED. Values from
-     * MINIMUM_USER_SET to Integer.MAX_VALUE are legal user set values.
+     * MINIMUM_USER_STAMP to MAXIMUM_USER_STAMP are legal user set values.
+     * The stamps are renumbered by adjustStamp() before they exceed
+     * MAXIMUM_USER_STAMP, so that a byte per field is sufficient.
      */
-    transient private int   stamp[];
+    transient private byte  stamp[];
 
     /**
      * The currently set time for this calendar, expressed in milliseconds after
@@ -929,10 +936,51 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
 
     /**
      * Cache to hold the firstDayOfWeek and minimalDaysInFirstWeek
-     * of a Locale.
+     * of a Locale. It is shared by all threads constructing calendars
+     * and sized for a few hundred locales.
      */
-    private static final Map<Locale, int[]> cachedLocaleData
-        = new HashMap<>(3);
+    private static final ConcurrentMap<Locale, int[]> cachedLocaleData
+        = new ConcurrentHashMap<>(256);
+
+    /**
+     * The number of lookups that missed {@link #cachedLocaleData}. Hits
+     * aren't counted, since every construction would then write to the
+     * same shared counter.
+     */
+    private static final AtomicLong localeDataMisses = new AtomicLong();
+
+    /**
+     * The factories creating the calendars of each locale, resolved on the
+     * first request for the locale.
+     */
+    private static final ConcurrentMap<Locale, CalendarFactory> calendarFactories
+        = new ConcurrentHashMap<>();
+
+    /**
+     * The display names of the fields in the {@link #SHORT} and
+     * {@link #LONG} styles of the <code>DateFormatSymbols</code> of each
+     * locale, indexed by {@link #fieldNamesIndex(int, int)}.
+     */
+    private static final ConcurrentMap<Locale, FieldNames[]> cachedFieldNames
+        = new ConcurrentHashMap<>();
+
+    /**
+     * The calendars released by each thread, for reuse by
+     * {@link #borrow(TimeZone, Locale)}.
+     */
+    private static final ThreadLocal<CalendarPool> calendarPool
+        = new ThreadLocal<CalendarPool>() {
+            @Override
+            protected CalendarPool initialValue() {
+                return new CalendarPool();
+            }
+        };
+
+    /**
+     * The locale this calendar was borrowed for, or null if it isn't
+     * borrowed.
+     */
+    transient private Locale borrowedLocale;
 
     // Special values of stamp[]
     /**
@@ -952,6 +1000,12 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
      */
     private static final int        MINIMUM_USER_STAMP = 2;
 
+    /**
+     * The greatest stamp value representing the (pseudo) time when the
+     * corresponding fields[] value was set externally.
+     */
+    private static final int        MAXIMUM_USER_STAMP = Byte.MAX_VALUE;
+
     /**
      * The mask value that represents all of the fields.
      */
@@ -1022,6 +1076,14 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
     final static int ZONE_OFFSET_MASK   = (1 << ZONE_OFFSET);
     final static int DST_OFFSET_MASK    = (1 << DST_OFFSET);
 
+    // Mask values for groups of calendar fields
+    final static int DATE_FIELDS_MASK   = ERA_MASK|YEAR_MASK|MONTH_MASK
+                                          |WEEK_OF_YEAR_MASK|WEEK_OF_MONTH_MASK
+                                          |DAY_OF_MONTH_MASK|DAY_OF_YEAR_MASK
+                                          |DAY_OF_WEEK_MASK|DAY_OF_WEEK_IN_MONTH_MASK;
+    final static int TIME_OF_DAY_FIELDS_MASK = AM_PM_MASK|HOUR_MASK|HOUR_OF_DAY_MASK
+                                          |MINUTE_MASK|SECOND_MASK|MILLISECOND_MASK;
+
     /**
      * {@code Calendar.Builder} is used for creating a {@code Calendar} from
      * various date-time parameters.
@@ -1470,8 +1532,7 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
                 type = locale.getUnicodeLocaleType("ca");
             }
             if (type == null) {
-                if (locale.getCountry() == "TH"
-                    && locale.getLanguage() == "th") {
+                if (isThaiLocale(locale)) {
                     type = "buddhist";
                 } else {
                     type = "gregory";
@@ -1594,7 +1655,7 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
     {
         fields = new int[FIELD_COUNT];
         isSet = new boolean[FIELD_COUNT];
-        stamp = new int[FIELD_COUNT];
+        stamp = new byte[FIELD_COUNT];
 
         this.zone = zone;
         setWeekCountData(aLocale);
@@ -1657,55 +1718,225 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
 
     private static Calendar createCalendar(TimeZone zone,
                                            Locale aLocale)
+    {
+        CalendarFactory factory = calendarFactories.get(aLocale);
+        if (factory == null) {
+            factory = resolveCalendarFactory(aLocale);
+            CalendarFactory cached = calendarFactories.putIfAbsent(aLocale, factory);
+            if (cached != null) {
+                factory = cached;
+            }
+        }
+        return factory.create(zone, aLocale);
+    }
+
+    /**
+     * Creates the calendars of a locale.
+     */
+    private interface CalendarFactory {
+        Calendar create(TimeZone zone, Locale aLocale);
+    }
+
+    /**
+     * Finds how the calendars of the given locale are created. The
+     * calendar provider of the JRE builds its calendars with a
+     * {@link Builder}, so the calendar type the builder would choose is
+     * resolved once, and the calendars are then constructed directly.
+     * Other providers, and the calendar types not constructed here, are
+     * asked for each calendar.
+     */
+    private static CalendarFactory resolveCalendarFactory(Locale aLocale)
     {
         CalendarProvider provider =
             LocaleProviderAdapter.getAdapter(CalendarProvider.class, aLocale)
                                  .getCalendarProvider();
-        if (provider != null) {
+        if (provider instanceof CalendarProviderImpl) {
+            String caltype = aLocale.getUnicodeLocaleType("ca");
+            if (caltype == null) {
+                caltype = isThaiLocale(aLocale) ? "buddhist" : "gregory";
+            }
+            CalendarFactory factory = getCalendarFactory(caltype);
+            if (factory != null) {
+                return factory;
+            }
+        }
+
+        CalendarFactory fallback = getDefaultCalendarFactory(aLocale);
+        if (provider == null) {
+            return fallback;
+        }
+        return (zone, locale) -> {
             try {
-                return provider.getInstance(zone, aLocale);
+                return provider.getInstance(zone, locale);
             } catch (IllegalArgumentException iae) {
                 // fall back to the default instantiation
+                return fallback.create(zone, locale);
             }
-        }
+        };
+    }
 
-        Calendar cal = null;
+    /**
+     * Returns the factory of the given calendar type, or null if the type
+     * isn't one of "gregory", "buddhist" and "japanese".
+     */
+    private static CalendarFactory getCalendarFactory(String caltype)
+    {
+        switch (caltype) {
+        case "buddhist":
+            return BuddhistCalendar::new;
+        case "japanese":
+            return JapaneseImperialCalendar::new;
+        case "gregory":
+            return GregorianCalendar::new;
+        default:
+            return null;
+        }
+    }
 
+    /**
+     * Returns the factory used when no calendar provider can create the
+     * calendars of the given locale.
+     */
+    private static CalendarFactory getDefaultCalendarFactory(Locale aLocale)
+    {
         if (aLocale.hasExtensions()) {
             String caltype = aLocale.getUnicodeLocaleType("ca");
             if (caltype != null) {
-                switch (caltype) {
-                case "buddhist":
-                cal = new BuddhistCalendar(zone, aLocale);
-                    break;
-                case "japanese":
-                    cal = new JapaneseImperialCalendar(zone, aLocale);
-                    break;
-                case "gregory":
-                    cal = new GregorianCalendar(zone, aLocale);
-                    break;
+                CalendarFactory factory = getCalendarFactory(caltype);
+                if (factory != null) {
+                    return factory;
                 }
             }
         }
+        // If no known calendar type is explicitly specified,
+        // perform the traditional way to create a Calendar:
+        // create a BuddhistCalendar for th_TH locale,
+        // a JapaneseImperialCalendar for ja_JP_JP locale, or
+        // a GregorianCalendar for any other locales.
+        if (isThaiLocale(aLocale)) {
+            return BuddhistCalendar::new;
+        }
+        if ("JP".equals(aLocale.getVariant()) && "ja".equals(aLocale.getLanguage())
+            && "JP".equals(aLocale.getCountry())) {
+            return JapaneseImperialCalendar::new;
+        }
+        return GregorianCalendar::new;
+    }
+
+    private static boolean isThaiLocale(Locale aLocale)
+    {
+        return "th".equals(aLocale.getLanguage()) && "TH".equals(aLocale.getCountry());
+    }
+
+    /**
+     * Borrows a calendar with the specified time zone and locale from the
+     * calendars released by the current thread. The calendar is in the
+     * state of one returned by {@link #getInstance(TimeZone, Locale)}: it
+     * is set to the current time, lenient, has the week data of the
+     * locale and, for a <code>GregorianCalendar</code>, the default
+     * Gregorian change. A calendar is only created, through the calendar
+     * provider of the locale, if the thread has no released calendar for
+     * the locale.
+     *
+     * <p>The calendar should be given back with {@link #release(Calendar)}
+     * once the caller is done with it, and must not be used afterwards.
+     * Calendars that aren't released are garbage collected as usual.
+     *
+     * @param zone the time zone to use
+     * @param aLocale the locale for the week data
+     * @return a calendar for the exclusive use of the caller until it is
+     * released
+     * @see #release(Calendar)
+     */
+    public static Calendar borrow(TimeZone zone, Locale aLocale)
+    {
+        Calendar cal = calendarPool.get().take(aLocale);
         if (cal == null) {
-            // If no known calendar type is explicitly specified,
-            // perform the traditional way to create a Calendar:
-            // create a BuddhistCalendar for th_TH locale,
-            // a JapaneseImperialCalendar for ja_JP_JP locale, or
-            // a GregorianCalendar for any other locales.
-            // NOTE: The language, country and variant strings are interned.
-            if (aLocale.getLanguage() == "th" && aLocale.getCountry() == "TH") {
-                cal = new BuddhistCalendar(zone, aLocale);
-            } else if (aLocale.getVariant() == "JP" && aLocale.getLanguage() == "ja"
-                       && aLocale.getCountry() == "JP") {
-                cal = new JapaneseImperialCalendar(zone, aLocale);
-            } else {
-                cal = new GregorianCalendar(zone, aLocale);
-            }
+            cal = createCalendar(zone, aLocale);
+        } else {
+            cal.reset(zone, aLocale);
         }
+        cal.borrowedLocale = aLocale;
         return cal;
     }
 
+    /**
+     * Gives a calendar obtained from {@link #borrow(TimeZone, Locale)}
+     * back to the current thread, which may hand it out again. Calendars
+     * that weren't borrowed, or were already released, are ignored.
+     *
+     * @param cal the calendar to release, or null
+     * @see #borrow(TimeZone, Locale)
+     */
+    public static void release(Calendar cal)
+    {
+        if (cal != null && cal.borrowedLocale != null) {
+            Locale locale = cal.borrowedLocale;
+            cal.borrowedLocale = null;
+            calendarPool.get().put(locale, cal);
+        }
+    }
+
+    /**
+     * Resets this calendar to the state of a calendar created with the
+     * given time zone and locale, so that it can be borrowed again.
+     * Subclasses with more settable state reset it too.
+     */
+    void reset(TimeZone zone, Locale aLocale)
+    {
+        clear();
+        setTimeZone(zone);
+        lenient = true;
+        setWeekCountData(aLocale);
+        setTimeInMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * The calendars released by a thread, with the locales they were
+     * borrowed for, in the order they were released. The pool is small:
+     * a thread mostly borrows a calendar or two at a time.
+     */
+    private static final class CalendarPool {
+
+        private static final int CAPACITY = 8;
+
+        private final Locale[] locales = new Locale[CAPACITY];
+
+        private final Calendar[] calendars = new Calendar[CAPACITY];
+
+        private int size;
+
+        /**
+         * Removes and returns the calendar last released for the given
+         * locale, or returns null.
+         */
+        Calendar take(Locale locale) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (locales[i].equals(locale)) {
+                    Calendar cal = calendars[i];
+                    size--;
+                    System.arraycopy(locales, i + 1, locales, i, size - i);
+                    System.arraycopy(calendars, i + 1, calendars, i, size - i);
+                    locales[size] = null;
+                    calendars[size] = null;
+                    return cal;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds a released calendar, unless the pool is full.
+         */
+        void put(Locale locale, Calendar cal) {
+            if (size < CAPACITY) {
+                locales[size] = locale;
+                calendars[size] = cal;
+                size++;
+            }
+        }
+    }
+
     /**
      * Returns an array of all locales for which the <code>getInstance</code>
      * methods of this class can return localized instances.
@@ -1795,7 +2026,8 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         // If we don't need to recalculate the calendar field values,
         // do nothing.
         if (time == millis && isTimeSet && areFieldsSet && areAllFieldsSet
-            && (zone instanceof ZoneInfo) && !((ZoneInfo)zone).isDirty()) {
+            && ((zone instanceof ZoneInfo && !((ZoneInfo)zone).isDirty())
+                || (zone instanceof TransitionTimeZone && !((TransitionTimeZone)zone).isDirty()))) {
             return;
         }
         time = millis;
@@ -1882,8 +2114,8 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         isTimeSet = false;
         areFieldsSet = false;
         isSet[field] = true;
-        stamp[field] = nextStamp++;
-        if (nextStamp == Integer.MAX_VALUE) {
+        stamp[field] = (byte) nextStamp++;
+        if (nextStamp > MAXIMUM_USER_STAMP) {
             adjustStamp();
         }
     }
@@ -1980,10 +2212,9 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
      */
     public final void clear()
     {
-        for (int i = 0; i < fields.length; ) {
-            stamp[i] = fields[i] = 0; // UNSET == 0
-            isSet[i++] = false;
-        }
+        Arrays.fill(fields, 0);
+        Arrays.fill(stamp, (byte) UNSET);
+        Arrays.fill(isSet, false);
         areAllFieldsSet = areFieldsSet = false;
         isTimeSet = false;
     }
@@ -2090,12 +2321,11 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
                                                               style, locale);
         }
 
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
-        String[] strings = getFieldStrings(field, style, symbols);
-        if (strings != null) {
+        FieldNames names = getFieldNames(field, style, locale);
+        if (names != null) {
             int fieldValue = get(field);
-            if (fieldValue < strings.length) {
-                return strings[fieldValue];
+            if (fieldValue < names.strings.length) {
+                return names.strings[fieldValue];
             }
         }
         return null;
@@ -2127,7 +2357,10 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
      * is {@link #MONTH} and {@code style} is {@link
      * #ALL_STYLES}, this method returns a {@code Map} containing
      * all strings returned by {@link DateFormatSymbols#getShortMonths()}
-     * and {@link DateFormatSymbols#getMonths()}.
+     * and {@link DateFormatSymbols#getMonths()}. The names in the {@link
+     * #SHORT} and {@link #LONG} styles are read once per locale, and each
+     * call returns a new, modifiable copy of the cached map, since callers
+     * such as {@code SimpleDateFormat} add names to it.
      *
      * @param field
      *        the calendar field for which the display names are returned
@@ -2163,9 +2396,61 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
     }
 
     private Map<String,Integer> getDisplayNamesImpl(int field, int style, Locale locale) {
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
-        String[] strings = getFieldStrings(field, style, symbols);
-        if (strings != null) {
+        FieldNames names = getFieldNames(field, style, locale);
+        return names != null ? new HashMap<>(names.values) : null;
+    }
+
+    /**
+     * Returns the cached names of the field in the style and locale, or
+     * null if the <code>DateFormatSymbols</code> have no such names.
+     */
+    private FieldNames getFieldNames(int field, int style, Locale locale) {
+        int baseStyle = getBaseStyle(style); // ignore the standalone mask
+
+        // DateFormatSymbols doesn't support any narrow names.
+        if (baseStyle == NARROW_FORMAT) {
+            return null;
+        }
+
+        FieldNames[] names = cachedFieldNames.get(locale);
+        if (names == null) {
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+            names = new FieldNames[fieldNamesIndex(AM_PM, LONG) + 1];
+            for (int nameField : new int[] {ERA, MONTH, DAY_OF_WEEK, AM_PM}) {
+                FieldNames shortNames = new FieldNames(getFieldStrings(nameField, SHORT, symbols));
+                names[fieldNamesIndex(nameField, SHORT)] = shortNames;
+                // The eras and the AM/PM strings have a single style.
+                names[fieldNamesIndex(nameField, LONG)]
+                    = (nameField == MONTH || nameField == DAY_OF_WEEK)
+                      ? new FieldNames(getFieldStrings(nameField, LONG, symbols)) : shortNames;
+            }
+            FieldNames[] cached = cachedFieldNames.putIfAbsent(locale, names);
+            if (cached != null) {
+                names = cached;
+            }
+        }
+        return names[fieldNamesIndex(field, baseStyle)];
+    }
+
+    /**
+     * Returns the index of the names of the field in the SHORT or LONG
+     * style in {@link #cachedFieldNames}.
+     */
+    private static int fieldNamesIndex(int field, int baseStyle) {
+        return field * 2 + baseStyle - SHORT;
+    }
+
+    /**
+     * The display names of a field in a style, by field value, and the
+     * map of the non-empty names to the field values, which is copied
+     * before being returned.
+     */
+    private static final class FieldNames {
+        final String[] strings;
+        final Map<String,Integer> values;
+
+        FieldNames(String[] strings) {
+            this.strings = strings;
             Map<String,Integer> names = new HashMap<>();
             for (int i = 0; i < strings.length; i++) {
                 if (strings[i].length() == 0) {
@@ -2173,9 +2458,8 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
                 }
                 names.put(strings[i], i);
             }
-            return names;
+            values = Collections.unmodifiableMap(names);
         }
-        return null;
     }
 
     boolean checkDisplayNameParams(int field, int style, int minStyle, int maxStyle,
@@ -2271,6 +2555,25 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         return mask;
     }
 
+    /**
+     * Returns a field mask (bit mask) indicating all calendar fields that
+     * have the state of internally set, i.e., whose values have been
+     * calculated from the time value and not changed by any of the setter
+     * methods since then.
+     *
+     * @return a bit mask indicating computed state fields
+     * @see #isExternallySet(int)
+     */
+    final int getComputedFields() {
+        int mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (stamp[i] == COMPUTED) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
     /**
      * Sets the state of the specified calendar fields to
      * <em>computed</em>. This state means that the specified calendar fields
@@ -2325,7 +2628,8 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         if (fieldMask != ALL_FIELDS) {
             for (int i = 0; i < fields.length; i++) {
                 if ((fieldMask & 1) == 0) {
-                    stamp[i] = fields[i] = 0; // UNSET == 0
+                    fields[i] = 0;
+                    stamp[i] = UNSET;
                     isSet[i] = false;
                 }
                 fieldMask >>= 1;
@@ -2810,6 +3114,122 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         }
     }
 
+    /**
+     * Returns an iterator over the time values from the time value of
+     * this <code>Calendar</code>, adding <code>amount</code> to the given
+     * calendar field at each step, up to <code>endMillis</code>,
+     * exclusive. A negative amount steps backwards down to
+     * <code>endMillis</code>, exclusive. For example, the following loop
+     * visits every day from the current time of <code>c</code> until
+     * <code>end</code>, without changing <code>c</code>:
+     * <pre>
+     *     PrimitiveIterator.OfLong days = c.stepper(Calendar.DAY_OF_MONTH, 1, end);
+     *     while (days.hasNext()) {
+     *         long millis = days.nextLong();
+     *         ...
+     *     }</pre>
+     *
+     * <p>The values are those of a loop calling {@link #add(int,int)
+     * add(field, amount)} on a clone of this <code>Calendar</code>. The
+     * clone is made once, and its calendar fields are carried from one
+     * step to the next. The steps of the <code>HOUR</code>,
+     * <code>HOUR_OF_DAY</code>, <code>MINUTE</code>, <code>SECOND</code>
+     * and <code>MILLISECOND</code> fields are a fixed number of
+     * milliseconds, as in <code>GregorianCalendar</code>, and are added
+     * to the time value without a clone. The iteration also ends if a
+     * step doesn't move the time value towards <code>endMillis</code>.
+     *
+     * @param field the calendar field.
+     * @param amount the amount of date or time added to the field at
+     * each step.
+     * @param endMillis the time value at which the iteration ends, in
+     * UTC milliseconds from the epoch.
+     * @return an iterator over the time values, in UTC milliseconds
+     * from the epoch.
+     * @exception IllegalArgumentException if <code>amount</code> is 0,
+     * or if <code>field</code> is <code>ZONE_OFFSET</code>,
+     * <code>DST_OFFSET</code>, or unknown.
+     * @see #add(int,int)
+     */
+    public PrimitiveIterator.OfLong stepper(int field, int amount, long endMillis) {
+        if (amount == 0 || field < 0 || field >= ZONE_OFFSET) {
+            throw new IllegalArgumentException();
+        }
+        long unit;
+        switch (field) {
+        case HOUR:
+        case HOUR_OF_DAY:
+            unit = 60 * 60 * 1000;
+            break;
+        case MINUTE:
+            unit = 60 * 1000;
+            break;
+        case SECOND:
+            unit = 1000;
+            break;
+        case MILLISECOND:
+            unit = 1;
+            break;
+        default:
+            // the time value is computed on the clone, leaving this
+            // calendar untouched
+            Calendar work = (Calendar) clone();
+            return new Stepper(work, work.getTimeInMillis(), field, amount, 0, endMillis);
+        }
+        return new Stepper(null, getMillisOf(this), field, amount, unit * amount, endMillis);
+    }
+
+    /**
+     * The iterator returned by {@link #stepper(int, int, long)}, which
+     * computes the next time value when the current one is returned,
+     * either by adding the amount to the field of the work calendar or,
+     * if there is no work calendar, by adding a fixed number of
+     * milliseconds.
+     */
+    private static final class Stepper implements PrimitiveIterator.OfLong {
+        private final Calendar work;
+        private final int field;
+        private final int amount;
+        private final long delta;
+        private final long endMillis;
+        private long next;
+        private boolean hasNext;
+
+        Stepper(Calendar work, long start, int field, int amount, long delta, long endMillis) {
+            this.work = work;
+            this.field = field;
+            this.amount = amount;
+            this.delta = delta;
+            this.endMillis = endMillis;
+            next = start;
+            hasNext = amount > 0 ? next < endMillis : next > endMillis;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long current = next;
+            if (work == null) {
+                // overflows stop the iteration below
+                next = current + delta;
+            } else {
+                work.add(field, amount);
+                next = work.getTimeInMillis();
+            }
+            hasNext = amount > 0
+                ? current < next && next < endMillis
+                : current > next && next > endMillis;
+            return current;
+        }
+    }
+
     /**
      * Sets the time zone with the given time zone value.
      *
@@ -3246,15 +3666,12 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         try {
             Calendar other = (Calendar) super.clone();
 
-            other.fields = new int[FIELD_COUNT];
-            other.isSet = new boolean[FIELD_COUNT];
-            other.stamp = new int[FIELD_COUNT];
-            for (int i = 0; i < FIELD_COUNT; i++) {
-                other.fields[i] = fields[i];
-                other.stamp[i] = stamp[i];
-                other.isSet[i] = isSet[i];
-            }
+            other.fields = fields.clone();
+            other.isSet = isSet.clone();
+            other.stamp = stamp.clone();
             other.zone = (TimeZone) zone.clone();
+            // the clone isn't borrowed
+            other.borrowedLocale = null;
             return other;
         }
         catch (CloneNotSupportedException e) {
@@ -3335,15 +3752,32 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         /* try to get the Locale data from the cache */
         int[] data = cachedLocaleData.get(desiredLocale);
         if (data == null) {  /* cache miss */
+            localeDataMisses.incrementAndGet();
             data = new int[2];
             data[0] = CalendarDataUtility.retrieveFirstDayOfWeek(desiredLocale);
             data[1] = CalendarDataUtility.retrieveMinimalDaysInFirstWeek(desiredLocale);
-            cachedLocaleData.putIfAbsent(desiredLocale, data);
+            int[] cached = cachedLocaleData.putIfAbsent(desiredLocale, data);
+            if (cached != null) {
+                data = cached;
+            }
         }
         firstDayOfWeek = data[0];
         minimalDaysInFirstWeek = data[1];
     }
 
+    /**
+     * Returns the number of times the week data ({@code firstDayOfWeek}
+     * and {@code minimalDaysInFirstWeek}) of a locale had to be
+     * retrieved from the locale providers when a {@code Calendar} was
+     * constructed, rather than found in the shared cache. Concurrent
+     * constructions for a new locale may each count as a miss.
+     *
+     * @return the number of week data cache misses
+     */
+    public static long getWeekDataCacheMisses() {
+        return localeDataMisses.get();
+    }
+
     /**
      * Recomputes the time and updates the status fields isTimeSet
      * and areFieldsSet.  Callers should check isTimeSet and only
@@ -3365,7 +3799,25 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         if (calendar.isTimeSet) {
             return calendar.time;
         }
-        Calendar cal = (Calendar) calendar.clone();
+        return calendar.getLenientMillis();
+    }
+
+    /**
+     * Returns the time value which the current calendar field values
+     * represent in lenient mode, without changing the state of this
+     * calendar. This method is called by {@link #compareTo(Calendar)},
+     * {@link #equals(Object)} and {@link #hashCode()} if the time
+     * value hasn't been computed. The default implementation computes
+     * the time value on a clone; subclasses that can compute it
+     * without side effects should override this method to avoid the
+     * allocation.
+     *
+     * @return the time value in milliseconds
+     * @exception IllegalArgumentException if any calendar fields are
+     * invalid even in lenient mode
+     */
+    long getLenientMillis() {
+        Calendar cal = (Calendar) clone();
         cal.setLenient(true);
         return cal.getTimeInMillis();
     }
@@ -3394,7 +3846,7 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
             }
             for (int i = 0; i < stamp.length; i++) {
                 if (stamp[i] == min) {
-                    stamp[i] = newStamp;
+                    stamp[i] = (byte) newStamp;
                 }
             }
             newStamp++;
@@ -3512,7 +3964,7 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         final ObjectInputStream input = stream;
         input.defaultReadObject();
 
-        stamp = new int[FIELD_COUNT];
+        stamp = new byte[FIELD_COUNT];
 
         // Starting with version 2 (not implemented yet), we expect that
         // fields[], isSet[], isTimeSet, and areFieldsSet may not be
@@ -3530,10 +3982,13 @@ public abstract class Calendar implements Serializable, Cloneable, Comparable<Ca
         else if (serialVersionOnStream >= 0)
         {
             for (int i=0; i<FIELD_COUNT; ++i) {
-                stamp[i] = isSet[i] ? COMPUTED : UNSET;
+                stamp[i] = isSet[i] ? (byte) COMPUTED : (byte) UNSET;
             }
         }
 
+        // No stamps of externally set fields have been restored.
+        nextStamp = MINIMUM_USER_STAMP;
+
         serialVersionOnStream = currentSerialVersion;
 
         // If there's a ZoneInfo object, use it for zone.
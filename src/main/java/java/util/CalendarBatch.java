@@ -0,0 +1,318 @@
+package java.util;
+
+import static java.util.Calendar.*;
+
+import sun.util.TransitionTimeZone;
+import sun.util.calendar.ZoneInfo;
+
+/**
+ * Converts arrays of time values to calendar field values without a
+ * <code>Calendar</code> instance per value.
+ *
+ * <p>The field values are the ones a {@link GregorianCalendar} with the
+ * default Gregorian change would compute for each time value, and are
+ * written into one <code>int[]</code> column per field. No objects are
+ * created per value. The date of the previous value is reused when
+ * consecutive values fall on the same local day, and a
+ * <code>TransitionTimeZone</code> finds the offsets of sorted values
+ * without searching, which makes sorted or nearly sorted input the
+ * fastest.
+ *
+ * <p><code>WEEK_OF_YEAR</code> and <code>WEEK_OF_MONTH</code> depend on
+ * the week definition of a locale and aren't supported.
+ *
+ * @see GregorianCalendar
+ */
+public final class CalendarBatch {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * The number of days in 400 years.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * The number of days from 0000-01-01 to 1970-01-01.
+     */
+    private static final long DAYS_0000_TO_1970 = GregorianCalendar.DAYS_0000_TO_1970;
+
+    /**
+     * The epoch day of the default Gregorian change.
+     */
+    private static final long GREGORIAN_CUTOVER_DAY
+        = GregorianCalendar.floorDivide(GregorianCalendar.DEFAULT_GREGORIAN_CUTOVER, ONE_DAY);
+
+    /**
+     * The fields that can be computed.
+     */
+    private static final int SUPPORTED_FIELDS
+        = Calendar.ALL_FIELDS & ~(WEEK_OF_YEAR_MASK | WEEK_OF_MONTH_MASK);
+
+    private CalendarBatch() {
+    }
+
+    /**
+     * Computes the calendar fields of all the given time values.
+     *
+     * @param millis the time values in UTC milliseconds from the epoch
+     * @param zone the time zone
+     * @param fieldMask the fields to compute, as a bit mask of
+     * <code>1 &lt;&lt; field</code> values such as
+     * <code>1 &lt;&lt; Calendar.YEAR</code>
+     * @param columns the output columns indexed by field; the column of
+     * each field in <code>fieldMask</code> receives the value of
+     * <code>millis[i]</code> at index <code>i</code>
+     * @exception IllegalArgumentException if <code>fieldMask</code>
+     * contains an unsupported field, or a column is missing or too short
+     * @see #computeFields(long[], int, int, TimeZone, int, int[][])
+     */
+    public static void computeFields(long[] millis, TimeZone zone, int fieldMask, int[][] columns) {
+        computeFields(millis, 0, millis.length, zone, fieldMask, columns);
+    }
+
+    /**
+     * Computes the calendar fields of the time values from
+     * <code>fromIndex</code>, inclusive, to <code>toIndex</code>,
+     * exclusive.
+     *
+     * @param millis the time values in UTC milliseconds from the epoch
+     * @param fromIndex the index of the first time value
+     * @param toIndex the index after the last time value
+     * @param zone the time zone
+     * @param fieldMask the fields to compute, as a bit mask of
+     * <code>1 &lt;&lt; field</code> values such as
+     * <code>1 &lt;&lt; Calendar.YEAR</code>
+     * @param columns the output columns indexed by field; the column of
+     * each field in <code>fieldMask</code> receives the value of
+     * <code>millis[i]</code> at index <code>i</code>
+     * @exception IllegalArgumentException if <code>fieldMask</code>
+     * contains an unsupported field, or a column is missing or too short
+     * @exception ArrayIndexOutOfBoundsException if the range is out of
+     * the bounds of <code>millis</code>
+     */
+    public static void computeFields(long[] millis, int fromIndex, int toIndex,
+                                     TimeZone zone, int fieldMask, int[][] columns) {
+        checkArguments(millis, fromIndex, toIndex, fieldMask, columns);
+        computeFieldsUnchecked(millis, fromIndex, toIndex, zone, fieldMask, columns);
+    }
+
+    /**
+     * Computes the calendar fields of the time values from
+     * <code>fromIndex</code>, inclusive, to <code>toIndex</code>,
+     * exclusive, with arguments already accepted by
+     * {@link #checkArguments(long[], int, int, int, int[][])}.
+     */
+    static void computeFieldsUnchecked(long[] millis, int fromIndex, int toIndex,
+                                       TimeZone zone, int fieldMask, int[][] columns) {
+        int[] era = column(columns, fieldMask, ERA);
+        int[] year = column(columns, fieldMask, YEAR);
+        int[] month = column(columns, fieldMask, MONTH);
+        int[] dayOfMonth = column(columns, fieldMask, DAY_OF_MONTH);
+        int[] dayOfYear = column(columns, fieldMask, DAY_OF_YEAR);
+        int[] dayOfWeek = column(columns, fieldMask, DAY_OF_WEEK);
+        int[] dayOfWeekInMonth = column(columns, fieldMask, DAY_OF_WEEK_IN_MONTH);
+        int[] amPm = column(columns, fieldMask, AM_PM);
+        int[] hour = column(columns, fieldMask, HOUR);
+        int[] hourOfDay = column(columns, fieldMask, HOUR_OF_DAY);
+        int[] minute = column(columns, fieldMask, MINUTE);
+        int[] second = column(columns, fieldMask, SECOND);
+        int[] millisecond = column(columns, fieldMask, MILLISECOND);
+        int[] zoneOffset = column(columns, fieldMask, ZONE_OFFSET);
+        int[] dstOffset = column(columns, fieldMask, DST_OFFSET);
+
+        TransitionTimeZone transitionZone
+            = zone instanceof TransitionTimeZone ? (TransitionTimeZone) zone : null;
+        ZoneInfo zoneInfo = zone instanceof ZoneInfo ? (ZoneInfo) zone : null;
+        int[] offsets = new int[2];
+        int[] date = new int[FIELD_COUNT];
+        long previousDay = Long.MIN_VALUE;
+        int normalizedYear = 0;
+        int yearDay = 0;
+        int weekDay = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            long time = millis[i];
+            int rawOffset;
+            int totalOffset;
+            if (transitionZone != null) {
+                totalOffset = transitionZone.getOffsets(time, offsets);
+                rawOffset = offsets[0];
+            } else if (zoneInfo != null) {
+                // the raw offset in effect at the time, as in GregorianCalendar
+                totalOffset = zoneInfo.getOffsets(time, offsets);
+                rawOffset = offsets[0];
+            } else {
+                totalOffset = zone.getOffset(time);
+                rawOffset = zone.getRawOffset();
+            }
+            // The offset is added to the time of day, as in
+            // GregorianCalendar, since adding it to the time value could
+            // overflow near Long.MIN_VALUE and Long.MAX_VALUE.
+            long epochDay = GregorianCalendar.floorDivide(time, ONE_DAY);
+            long localTimeOfDay = (time - epochDay * ONE_DAY) + totalOffset;
+            epochDay += GregorianCalendar.floorDivide(localTimeOfDay, ONE_DAY);
+            int timeOfDay = (int) GregorianCalendar.floorMod(localTimeOfDay, ONE_DAY);
+
+            if (epochDay != previousDay) {
+                if (epochDay >= GREGORIAN_CUTOVER_DAY) {
+                    GregorianCalendar.decodeGregorianEpochDay(epochDay, date);
+                } else {
+                    GregorianCalendar.decodeJulianEpochDay(epochDay, date);
+                }
+                normalizedYear = date[YEAR];
+                if (dayOfYear != null) {
+                    yearDay = (int)(epochDay - epochDayOfJan1(normalizedYear)) + 1;
+                }
+                weekDay = GregorianCalendar.dayOfWeek(epochDay);
+                previousDay = epochDay;
+            }
+
+            if (era != null) {
+                era[i] = normalizedYear > 0 ? GregorianCalendar.AD : GregorianCalendar.BC;
+            }
+            if (year != null) {
+                year[i] = normalizedYear > 0 ? normalizedYear : 1 - normalizedYear;
+            }
+            if (month != null) {
+                month[i] = date[MONTH];
+            }
+            if (dayOfMonth != null) {
+                dayOfMonth[i] = date[DAY_OF_MONTH];
+            }
+            if (dayOfYear != null) {
+                dayOfYear[i] = yearDay;
+            }
+            if (dayOfWeek != null) {
+                dayOfWeek[i] = weekDay;
+            }
+            if (dayOfWeekInMonth != null) {
+                // In the month of the Gregorian change, count the days
+                // from the first day of the month, not DAY_OF_MONTH.
+                long month1 = GregorianCalendar.getEpochDayOfMonth1(epochDay, normalizedYear, date[MONTH],
+                                                                    date[DAY_OF_MONTH], GREGORIAN_CUTOVER_DAY);
+                dayOfWeekInMonth[i] = (int)(epochDay - month1) / 7 + 1;
+            }
+            int hours = timeOfDay / (60 * 60 * 1000);
+            if (amPm != null) {
+                amPm[i] = hours / 12;
+            }
+            if (hour != null) {
+                hour[i] = hours % 12;
+            }
+            if (hourOfDay != null) {
+                hourOfDay[i] = hours;
+            }
+            if (minute != null) {
+                minute[i] = timeOfDay / (60 * 1000) % 60;
+            }
+            if (second != null) {
+                second[i] = timeOfDay / 1000 % 60;
+            }
+            if (millisecond != null) {
+                millisecond[i] = timeOfDay % 1000;
+            }
+            if (zoneOffset != null) {
+                zoneOffset[i] = rawOffset;
+            }
+            if (dstOffset != null) {
+                dstOffset[i] = totalOffset - rawOffset;
+            }
+        }
+    }
+
+    /**
+     * Computes the dates of the given epoch days in the proleptic
+     * Gregorian calendar, such as the dates of the <code>LocalDate</code>
+     * of <code>java.time</code>. Unlike {@link #computeFields(long[], int,
+     * int, TimeZone, int, int[][])}, days before the Gregorian change
+     * aren't converted to the Julian calendar.
+     *
+     * <p>The loop runs without branches or table lookups, which lets the
+     * compiler keep the values of several days in flight, and only
+     * touches the four arrays.
+     *
+     * @param epochDays the days since 1970-01-01
+     * @param fromIndex the index of the first day
+     * @param toIndex the index after the last day
+     * @param years receives the normalized year of each day, in which
+     * year 0 is 1 BC
+     * @param months receives the 0-based month of each day, from
+     * <code>JANUARY</code> to <code>DECEMBER</code>
+     * @param daysOfMonth receives the day of month of each day
+     * @exception ArrayIndexOutOfBoundsException if the range is out of
+     * the bounds of an array
+     */
+    public static void computeDates(int[] epochDays, int fromIndex, int toIndex,
+                                    int[] years, int[] months, int[] daysOfMonth) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > epochDays.length
+            || toIndex > years.length || toIndex > months.length || toIndex > daysOfMonth.length) {
+            throw new ArrayIndexOutOfBoundsException("range [" + fromIndex + ", " + toIndex + ")");
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            // Counts the days from 0000-03-01, so that the leap day ends
+            // the year. A century is a quarter of 400 years minus a
+            // fraction of a day, so four times the count plus 3, divided
+            // by the days of 400 years, is the century.
+            long quadrupleDay = 4 * ((long) epochDays[i] + DAYS_0000_TO_1970 - 60) + 3;
+            long century = GregorianCalendar.floorDivide(quadrupleDay, DAYS_PER_CYCLE);
+            // the same for the years of the century and 4 years
+            int quadrupleDayOfCentury = (int) (quadrupleDay - century * DAYS_PER_CYCLE) | 3;
+            int yearOfCentury = quadrupleDayOfCentury / 1461;
+            int dayOfYear = (quadrupleDayOfCentury - yearOfCentury * 1461) >>> 2;
+            // the month from March, 0 to 11
+            int marchMonth = (5 * dayOfYear + 2) / 153;
+            // 1 for January and February, which belong to the next year
+            int nextYear = (marchMonth + 6) >>> 4;
+            years[i] = (int) (100 * century) + yearOfCentury + nextYear;
+            months[i] = marchMonth + MARCH - 12 * nextYear;
+            daysOfMonth[i] = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        }
+    }
+
+    /**
+     * Returns the epoch day of January 1 of the given normalized year,
+     * which is in the Julian calendar up to the year of the Gregorian
+     * change, as in <code>GregorianCalendar</code>.
+     */
+    private static long epochDayOfJan1(int year) {
+        long jan1 = GregorianCalendar.gregorianEpochDay(year, JANUARY, 1);
+        if (jan1 >= GREGORIAN_CUTOVER_DAY) {
+            return jan1;
+        }
+        return GregorianCalendar.julianEpochDay(year, JANUARY, 1);
+    }
+
+    /**
+     * Checks the arguments of {@link #computeFields(long[], int, int,
+     * TimeZone, int, int[][])}.
+     */
+    static void checkArguments(long[] millis, int fromIndex, int toIndex, int fieldMask, int[][] columns) {
+        if (fromIndex < 0 || toIndex > millis.length || fromIndex > toIndex) {
+            throw new ArrayIndexOutOfBoundsException("range [" + fromIndex + ", " + toIndex
+                                                     + ") of length " + millis.length);
+        }
+        if ((fieldMask & ~SUPPORTED_FIELDS) != 0) {
+            throw new IllegalArgumentException("unsupported fields: 0x"
+                                               + Integer.toHexString(fieldMask & ~SUPPORTED_FIELDS));
+        }
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (isFieldSet(fieldMask, field)
+                && (field >= columns.length || columns[field] == null || columns[field].length < toIndex)) {
+                throw new IllegalArgumentException("missing or short column for field " + field);
+            }
+        }
+    }
+
+    /**
+     * Returns the column of the given field, or null if the field isn't
+     * requested.
+     */
+    private static int[] column(int[][] columns, int fieldMask, int field) {
+        return isFieldSet(fieldMask, field) ? columns[field] : null;
+    }
+
+    private static boolean isFieldSet(int fieldMask, int field) {
+        return (fieldMask & (1 << field)) != 0;
+    }
+}
@@ -1,5 +1,2806 @@
+/*
+ * Copyright (c) 1996, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
 package java.util;
 
-public class GregorianCalendar {
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import sun.util.TransitionTimeZone;
+import sun.util.calendar.ZoneInfo;
+
+/**
+ * <code>GregorianCalendar</code> is a concrete subclass of
+ * <code>Calendar</code> and provides the standard calendar system
+ * used by most of the world.
+ *
+ * <p> <code>GregorianCalendar</code> is a hybrid calendar that
+ * supports both the Julian and Gregorian calendar systems with the
+ * support of a single discontinuity, which corresponds by default to
+ * the Gregorian date when the Gregorian calendar was instituted
+ * (October 15, 1582 in some countries, later in others).  The cutover
+ * date may be changed by the caller by calling {@link
+ * #setGregorianChange(Date) setGregorianChange()}.
+ *
+ * <p>Unlike the JDK implementation, which goes through
+ * {@code BaseCalendar.Date} objects, all conversions between the time
+ * value and the calendar fields are done with integer arithmetic on
+ * <em>epoch days</em> (days since 1970-01-01, the day of the <a
+ * href="Calendar.html#Epoch">Epoch</a>). Neither {@link #computeFields()}
+ * nor {@link #computeTime()} allocates any objects.
+ *
+ * @see          TimeZone
+ */
+public class GregorianCalendar extends Calendar {
+
+//////////////////
+// Class Variables
+//////////////////
+
+    /**
+     * Value of the <code>ERA</code> field indicating
+     * the period before the common era (before Christ), also known as BCE.
+     * The sequence of years at the transition from <code>BC</code> to <code>AD</code> is
+     * ..., 2 BC, 1 BC, 1 AD, 2 AD,...
+     *
+     * @see #ERA
+     */
+    public static final int BC = 0;
+
+    /**
+     * Value of the {@link #ERA} field indicating
+     * the period before the common era, the same value as {@link #BC}.
+     *
+     * @see #CE
+     */
+    static final int BCE = 0;
+
+    /**
+     * Value of the <code>ERA</code> field indicating
+     * the common era (Anno Domini), also known as CE.
+     * The sequence of years at the transition from <code>BC</code> to <code>AD</code> is
+     * ..., 2 BC, 1 BC, 1 AD, 2 AD,...
+     *
+     * @see #ERA
+     */
+    public static final int AD = 1;
+
+    /**
+     * Value of the {@link #ERA} field indicating
+     * the common era, the same value as {@link #AD}.
+     *
+     * @see #BCE
+     */
+    static final int CE = 1;
+
+    private static final int EPOCH_YEAR     = 1970;
+
+    // Useful millisecond constants.  Although ONE_DAY and ONE_WEEK can fit
+    // into ints, they must be longs in order to prevent arithmetic overflow
+    // when performing (bug 4173516).
+    private static final int  ONE_SECOND = 1000;
+    private static final int  ONE_MINUTE = 60*ONE_SECOND;
+    private static final int  ONE_HOUR   = 60*ONE_MINUTE;
+    private static final long ONE_DAY    = 24*ONE_HOUR;
+
+    /**
+     * The number of days in a 400 year cycle of the Gregorian calendar.
+     */
+    private static final int  DAYS_PER_CYCLE = 146097;
+
+    /**
+     * The number of days from the proleptic Gregorian 0000-01-01 to
+     * 1970-01-01.
+     */
+    static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+
+    /**
+     * The offset between the Julian day count computed by
+     * {@link #julianEpochDay} (1 for January 1, 1 CE (Julian), less
+     * one) and epoch days.
+     */
+    private static final long JULIAN_DAYS_TO_1970 = 719165;
+
+    /*
+     * <pre>
+     *                            Greatest       Least
+     * Field name        Minimum   Minimum     Maximum     Maximum
+     * ----------        -------   -------     -------     -------
+     * ERA                     0         0           1           1
+     * YEAR                    1         1   292269054   292278994
+     * MONTH                   0         0          11          11
+     * WEEK_OF_YEAR            1         1          50*         53
+     * WEEK_OF_MONTH           0         0           3*          6
+     * DAY_OF_MONTH            1         1          28*         31
+     * DAY_OF_YEAR             1         1         355*        366
+     * DAY_OF_WEEK             1         1           7           7
+     * DAY_OF_WEEK_IN_MONTH    1         1           3*          6
+     * AM_PM                   0         0           1           1
+     * HOUR                    0         0          11          11
+     * HOUR_OF_DAY             0         0          23          23
+     * MINUTE                  0         0          59          59
+     * SECOND                  0         0          59          59
+     * MILLISECOND             0         0         999         999
+     * ZONE_OFFSET        -13:00    -13:00       14:00       14:00
+     * DST_OFFSET           0:00      0:00        0:20        2:00
+     * </pre>
+     * *: depends on the Gregorian change date
+     */
+    static final int MIN_VALUES[] = {
+        BCE,            // ERA
+        1,              // YEAR
+        JANUARY,        // MONTH
+        1,              // WEEK_OF_YEAR
+        0,              // WEEK_OF_MONTH
+        1,              // DAY_OF_MONTH
+        1,              // DAY_OF_YEAR
+        SUNDAY,         // DAY_OF_WEEK
+        1,              // DAY_OF_WEEK_IN_MONTH
+        AM,             // AM_PM
+        0,              // HOUR
+        0,              // HOUR_OF_DAY
+        0,              // MINUTE
+        0,              // SECOND
+        0,              // MILLISECOND
+        -13*ONE_HOUR,   // ZONE_OFFSET (UNIX compatibility)
+        0               // DST_OFFSET
+    };
+    static final int LEAST_MAX_VALUES[] = {
+        CE,             // ERA
+        292269054,      // YEAR
+        DECEMBER,       // MONTH
+        50,             // WEEK_OF_YEAR (year of the Gregorian change)
+        3,              // WEEK_OF_MONTH (month of the Gregorian change)
+        28,             // DAY_OF_MONTH
+        355,            // DAY_OF_YEAR (year of the Gregorian change)
+        SATURDAY,       // DAY_OF_WEEK
+        3,              // DAY_OF_WEEK_IN (month of the Gregorian change)
+        PM,             // AM_PM
+        11,             // HOUR
+        23,             // HOUR_OF_DAY
+        59,             // MINUTE
+        59,             // SECOND
+        999,            // MILLISECOND
+        14*ONE_HOUR,    // ZONE_OFFSET
+        20*ONE_MINUTE   // DST_OFFSET (historical least maximum)
+    };
+    static final int MAX_VALUES[] = {
+        CE,             // ERA
+        292278994,      // YEAR
+        DECEMBER,       // MONTH
+        53,             // WEEK_OF_YEAR
+        6,              // WEEK_OF_MONTH
+        31,             // DAY_OF_MONTH
+        366,            // DAY_OF_YEAR
+        SATURDAY,       // DAY_OF_WEEK
+        6,              // DAY_OF_WEEK_IN
+        PM,             // AM_PM
+        11,             // HOUR
+        23,             // HOUR_OF_DAY
+        59,             // MINUTE
+        59,             // SECOND
+        999,            // MILLISECOND
+        14*ONE_HOUR,    // ZONE_OFFSET
+        2*ONE_HOUR      // DST_OFFSET (double summer time)
+    };
+
+    /**
+     * The lengths of the months of a common year, indexed by the
+     * 0-based <code>MONTH</code> value.
+     */
+    private static final int[] MONTH_LENGTH
+        = {31,28,31,30,31,30,31,31,30,31,30,31};
+
+    /**
+     * The 0-based day of year of the first day of each month of a
+     * common year and of a leap year, followed by the length of the
+     * year.
+     */
+    private static final int[] MONTH_START_DAYS
+        = {0,31,59,90,120,151,181,212,243,273,304,334,365};
+    private static final int[] LEAP_MONTH_START_DAYS
+        = {0,31,60,91,121,152,182,213,244,274,305,335,366};
+
+    /**
+     * The range of the Gregorian years in {@link #YEAR_START_DAYS}.
+     */
+    private static final int TABLE_FIRST_YEAR = 1900;
+    private static final int TABLE_LAST_YEAR = 2200;
+
+    /**
+     * The epoch days of January 1 of the Gregorian years from
+     * <code>TABLE_FIRST_YEAR</code> to <code>TABLE_LAST_YEAR + 1</code>.
+     * A year is a leap year if the next year starts 366 days later.
+     * Most time values fall into this range, for which the date is
+     * then found by a table lookup instead of the 400-year cycle
+     * arithmetic.
+     */
+    private static final int[] YEAR_START_DAYS
+        = new int[TABLE_LAST_YEAR - TABLE_FIRST_YEAR + 2];
+
+    static {
+        for (int i = 0; i < YEAR_START_DAYS.length; i++) {
+            YEAR_START_DAYS[i] = (int) computeGregorianEpochDay(TABLE_FIRST_YEAR + i, JANUARY, 1);
+        }
+    }
+
+    // Proclaim serialization compatibility with JDK 1.1
+    @SuppressWarnings("FieldNameHidesFieldInSuperclass")
+    static final long serialVersionUID = -8125100834729963327L;
+
+    /**
+     * The default value of the Gregorian change, October 15, 1582
+     * (Gregorian) 00:00:00 UTC.
+     */
+    static final long DEFAULT_GREGORIAN_CUTOVER = -12219292800000L;
+
+/////////////////////
+// Instance Variables
+/////////////////////
+
+    /**
+     * The point at which the Gregorian calendar rules are used, measured in
+     * milliseconds from the standard epoch.  Default is October 15, 1582
+     * (Gregorian) 00:00:00 UTC or -12219292800000L.  For this value, October 4,
+     * 1582 (Julian) is followed by October 15, 1582 (Gregorian).  This
+     * corresponds to Julian day number 2299161.
+     * @serial
+     */
+    private long gregorianCutover = DEFAULT_GREGORIAN_CUTOVER;
+
+    /**
+     * The epoch day of the first day of the Gregorian calendar.
+     */
+    private transient long gregorianCutoverDay
+        = floorDivide(DEFAULT_GREGORIAN_CUTOVER, ONE_DAY); // == -141427
+
+    /**
+     * The normalized (proleptic) year of the Gregorian change date.
+     */
+    private transient int gregorianCutoverYear = 1582;
+
+    /**
+     * The normalized (proleptic) year of the Gregorian change date in
+     * the Julian calendar, i.e., the Julian year of the day before the
+     * change.
+     */
+    private transient int gregorianCutoverYearJulian = 1582;
+
+    /**
+     * Temporary storage for saving original fields[] values in
+     * non-lenient mode.
+     */
+    private transient int[] originalFields;
+
+    /**
+     * Temporary storage for the raw and DST offsets looked up in the
+     * time zone.
+     */
+    private transient int[] zoneOffsets;
+
+    /**
+     * The epoch day of the date fields cached below, or
+     * <code>Long.MIN_VALUE</code> if nothing is cached. The date
+     * fields are recomputed only when the date of the time value
+     * changes.
+     */
+    private transient long cachedEpochDay = Long.MIN_VALUE;
+
+    /**
+     * The cached normalized year, month and day of month of
+     * <code>cachedEpochDay</code>.
+     */
+    private transient int cachedYear, cachedMonth, cachedDayOfMonth;
+
+    /**
+     * The cached week-related fields of <code>cachedEpochDay</code>,
+     * valid if <code>cachedWeekDefinition</code> matches the current
+     * first day of week and minimal days in first week.
+     */
+    private transient int cachedDayOfYear, cachedWeekOfYear, cachedWeekOfMonth, cachedDayOfWeekInMonth;
+
+    /**
+     * The week definition used for the cached week-related fields,
+     * as returned by <code>getWeekDefinition()</code>, or 0 if the
+     * week-related fields are not cached.
+     */
+    private transient int cachedWeekDefinition;
+
+///////////////
+// Constructors
+///////////////
+
+    /**
+     * Constructs a default <code>GregorianCalendar</code> using the current time
+     * in the default time zone with the default
+     * {@link Locale.Category#FORMAT FORMAT} locale.
+     */
+    public GregorianCalendar() {
+        this(TimeZone.getDefaultRef(), Locale.getDefault(Locale.Category.FORMAT));
+        setZoneShared(true);
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> based on the current time
+     * in the given time zone with the default
+     * {@link Locale.Category#FORMAT FORMAT} locale.
+     *
+     * @param zone the given time zone.
+     */
+    public GregorianCalendar(TimeZone zone) {
+        this(zone, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> based on the current time
+     * in the default time zone with the given locale.
+     *
+     * @param aLocale the given locale.
+     */
+    public GregorianCalendar(Locale aLocale) {
+        this(TimeZone.getDefaultRef(), aLocale);
+        setZoneShared(true);
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> based on the current time
+     * in the given time zone with the given locale.
+     *
+     * @param zone the given time zone.
+     * @param aLocale the given locale.
+     */
+    public GregorianCalendar(TimeZone zone, Locale aLocale) {
+        super(zone, aLocale);
+        setTimeInMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> with the given date set
+     * in the default time zone with the default locale.
+     *
+     * @param year the value used to set the <code>YEAR</code> calendar field in the calendar.
+     * @param month the value used to set the <code>MONTH</code> calendar field in the calendar.
+     * Month value is 0-based. e.g., 0 for January.
+     * @param dayOfMonth the value used to set the <code>DAY_OF_MONTH</code> calendar field in the calendar.
+     */
+    public GregorianCalendar(int year, int month, int dayOfMonth) {
+        this(year, month, dayOfMonth, 0, 0, 0, 0);
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> with the given date
+     * and time set for the default time zone with the default locale.
+     *
+     * @param year the value used to set the <code>YEAR</code> calendar field in the calendar.
+     * @param month the value used to set the <code>MONTH</code> calendar field in the calendar.
+     * Month value is 0-based. e.g., 0 for January.
+     * @param dayOfMonth the value used to set the <code>DAY_OF_MONTH</code> calendar field in the calendar.
+     * @param hourOfDay the value used to set the <code>HOUR_OF_DAY</code> calendar field
+     * in the calendar.
+     * @param minute the value used to set the <code>MINUTE</code> calendar field
+     * in the calendar.
+     */
+    public GregorianCalendar(int year, int month, int dayOfMonth, int hourOfDay,
+                             int minute) {
+        this(year, month, dayOfMonth, hourOfDay, minute, 0, 0);
+    }
+
+    /**
+     * Constructs a GregorianCalendar with the given date
+     * and time set for the default time zone with the default locale.
+     *
+     * @param year the value used to set the <code>YEAR</code> calendar field in the calendar.
+     * @param month the value used to set the <code>MONTH</code> calendar field in the calendar.
+     * Month value is 0-based. e.g., 0 for January.
+     * @param dayOfMonth the value used to set the <code>DAY_OF_MONTH</code> calendar field in the calendar.
+     * @param hourOfDay the value used to set the <code>HOUR_OF_DAY</code> calendar field
+     * in the calendar.
+     * @param minute the value used to set the <code>MINUTE</code> calendar field
+     * in the calendar.
+     * @param second the value used to set the <code>SECOND</code> calendar field
+     * in the calendar.
+     */
+    public GregorianCalendar(int year, int month, int dayOfMonth, int hourOfDay,
+                             int minute, int second) {
+        this(year, month, dayOfMonth, hourOfDay, minute, second, 0);
+    }
+
+    /**
+     * Constructs a <code>GregorianCalendar</code> with the given date
+     * and time set for the default time zone with the default locale.
+     *
+     * @param year the value used to set the <code>YEAR</code> calendar field in the calendar.
+     * @param month the value used to set the <code>MONTH</code> calendar field in the calendar.
+     * Month value is 0-based. e.g., 0 for January.
+     * @param dayOfMonth the value used to set the <code>DAY_OF_MONTH</code> calendar field in the calendar.
+     * @param hourOfDay the value used to set the <code>HOUR_OF_DAY</code> calendar field
+     * in the calendar.
+     * @param minute the value used to set the <code>MINUTE</code> calendar field
+     * in the calendar.
+     * @param second the value used to set the <code>SECOND</code> calendar field
+     * in the calendar.
+     * @param millis the value used to set the <code>MILLISECOND</code> calendar field
+     */
+    GregorianCalendar(int year, int month, int dayOfMonth,
+                      int hourOfDay, int minute, int second, int millis) {
+        super();
+        this.set(YEAR, year);
+        this.set(MONTH, month);
+        this.set(DAY_OF_MONTH, dayOfMonth);
+
+        // Set AM_PM and HOUR here to set their stamp values before
+        // those of HOUR_OF_DAY.
+        if (hourOfDay >= 12 && hourOfDay <= 23) {
+            // If hourOfDay is a valid PM hour, set the correct PM values
+            // so that it won't throw an exception in case it's set to
+            // non-lenient later.
+            this.internalSet(AM_PM, PM);
+            this.internalSet(HOUR, hourOfDay - 12);
+        } else {
+            // The default value for AM_PM is AM.
+            // We don't care any out of range value here for leniency.
+            this.internalSet(HOUR, hourOfDay);
+        }
+        // The stamp values of AM_PM and HOUR must be COMPUTED. (6440854)
+        setFieldsComputed(HOUR_MASK|AM_PM_MASK);
+
+        this.set(HOUR_OF_DAY, hourOfDay);
+        this.set(MINUTE, minute);
+        this.set(SECOND, second);
+        // should be changed to set() when this constructor is made
+        // public.
+        this.internalSet(MILLISECOND, millis);
+    }
+
+    /**
+     * Constructs an empty GregorianCalendar.
+     *
+     * @param zone    the given time zone
+     * @param aLocale the given locale
+     * @param flag    the flag requesting an empty instance
+     */
+    GregorianCalendar(TimeZone zone, Locale locale, boolean flag) {
+        super(zone, locale);
+    }
+
+/////////////////
+// Public methods
+/////////////////
+
+    /**
+     * Sets the <code>GregorianCalendar</code> change date. This is the point when the switch
+     * from Julian dates to Gregorian dates occurred. Default is October 15,
+     * 1582 (Gregorian). Previous to this, dates will be in the Julian calendar.
+     * <p>
+     * To obtain a pure Julian calendar, set the change date to
+     * <code>Date(Long.MAX_VALUE)</code>.  To obtain a pure Gregorian calendar,
+     * set the change date to <code>Date(Long.MIN_VALUE)</code>.
+     *
+     * @param date the given Gregorian cutover date.
+     */
+    public void setGregorianChange(Date date) {
+        long cutoverTime = date.getTime();
+        if (cutoverTime == gregorianCutover) {
+            return;
+        }
+        // Before changing the cutover date, make sure to have the
+        // time of this calendar.
+        complete();
+        setGregorianChange(cutoverTime);
+    }
+
+    private void setGregorianChange(long cutoverTime) {
+        gregorianCutover = cutoverTime;
+        gregorianCutoverDay = floorDivide(cutoverTime, ONE_DAY);
+        gregorianCutoverYear = (int) gregorianYearFromEpochDay(gregorianCutoverDay);
+        gregorianCutoverYearJulian = (int) julianYearFromEpochDay(gregorianCutoverDay - 1);
+        cachedEpochDay = Long.MIN_VALUE;
+
+        if (time < gregorianCutover) {
+            // The field values are no longer valid under the new
+            // cutover date.
+            setUnnormalized();
+        }
+    }
+
+    @Override
+    void reset(TimeZone zone, Locale aLocale) {
+        if (gregorianCutover != DEFAULT_GREGORIAN_CUTOVER) {
+            setGregorianChange(DEFAULT_GREGORIAN_CUTOVER);
+        }
+        super.reset(zone, aLocale);
+    }
+
+    /**
+     * Gets the Gregorian Calendar change date.  This is the point when the
+     * switch from Julian dates to Gregorian dates occurred. Default is
+     * October 15, 1582 (Gregorian). Previous to this, dates will be in the Julian
+     * calendar.
+     *
+     * @return the Gregorian cutover date for this <code>GregorianCalendar</code> object.
+     */
+    public final Date getGregorianChange() {
+        return new Date(gregorianCutover);
+    }
+
+    /**
+     * Determines if the given year is a leap year. Returns <code>true</code> if
+     * the given year is a leap year. To specify BC year numbers,
+     * <code>1 - year number</code> must be given. For example, year BC 4 is
+     * specified as -3.
+     *
+     * @param year the given year.
+     * @return <code>true</code> if the given year is a leap year; <code>false</code> otherwise.
+     */
+    public boolean isLeapYear(int year) {
+        if ((year & 3) != 0) {
+            return false;
+        }
+        if (year > gregorianCutoverYear) {
+            return isGregorianLeapYear(year);
+        }
+        if (year < gregorianCutoverYear) {
+            return true; // all Julian years divisible by 4 are leap years
+        }
+        // In the cutover year, February 29 exists in the calendar
+        // system which is in effect on March 1.
+        return gregorianEpochDay(year, MARCH, 1) >= gregorianCutoverDay
+            ? isGregorianLeapYear(year) : true;
+    }
+
+    /**
+     * Returns {@code "gregory"} as the calendar type.
+     *
+     * @return {@code "gregory"}
+     * @since 1.8
+     */
+    @Override
+    public String getCalendarType() {
+        return "gregory";
+    }
+
+    /**
+     * Compares this <code>GregorianCalendar</code> to the specified
+     * <code>Object</code>. The result is <code>true</code> if and
+     * only if the argument is a <code>GregorianCalendar</code> object
+     * that represents the same time value (millisecond offset from
+     * the <a href="Calendar.html#Epoch">Epoch</a>) under the same
+     * <code>Calendar</code> parameters and Gregorian change date as
+     * this object.
+     *
+     * @param obj the object to compare with.
+     * @return <code>true</code> if this object is equal to <code>obj</code>;
+     * <code>false</code> otherwise.
+     * @see Calendar#compareTo(Calendar)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof GregorianCalendar &&
+            super.equals(obj) &&
+            gregorianCutover == ((GregorianCalendar)obj).gregorianCutover;
+    }
+
+    /**
+     * Generates the hash code for this <code>GregorianCalendar</code> object.
+     */
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ (int)gregorianCutoverDay;
+    }
+
+    /**
+     * Adds the specified (signed) amount of time to the given calendar field,
+     * based on the calendar's rules.
+     *
+     * <p><em>Add rule 1</em>. The value of <code>field</code>
+     * after the call minus the value of <code>field</code> before the
+     * call is <code>amount</code>, modulo any overflow that has occurred in
+     * <code>field</code>. Overflow occurs when a field value exceeds its
+     * range and, as a result, the next larger field is incremented or
+     * decremented and the field value is adjusted back into its range.</p>
+     *
+     * <p><em>Add rule 2</em>. If a smaller field is expected to be
+     * invariant, but it is impossible for it to be equal to its
+     * prior value because of changes in its minimum or maximum after
+     * <code>field</code> is changed, then its value is adjusted to be as close
+     * as possible to its expected value. A smaller field represents a
+     * smaller unit of time. <code>HOUR</code> is a smaller field than
+     * <code>DAY_OF_MONTH</code>. No adjustment is made to smaller fields
+     * that are not expected to be invariant. The calendar system
+     * determines what fields are expected to be invariant.</p>
+     *
+     * @param field the calendar field.
+     * @param amount the amount of date or time to be added to the field.
+     * @exception IllegalArgumentException if <code>field</code> is
+     * <code>ZONE_OFFSET</code>, <code>DST_OFFSET</code>, or unknown,
+     * or if any calendar fields have out-of-range values in
+     * non-lenient mode.
+     */
+    @Override
+    public void add(int field, int amount) {
+        // If amount == 0, do nothing even the given field is out of
+        // range. This is tested by JCK.
+        if (amount == 0) {
+            return;   // Do nothing!
+        }
+
+        if (field < 0 || field >= ZONE_OFFSET) {
+            throw new IllegalArgumentException();
+        }
+
+        // Sync the time and calendar fields.
+        complete();
+
+        if (field == YEAR) {
+            int year = internalGet(YEAR);
+            if (internalGetEra() == CE) {
+                year += amount;
+                if (year > 0) {
+                    set(YEAR, year);
+                } else { // year <= 0
+                    set(YEAR, 1 - year);
+                    // if year == 0, you get 1 BCE.
+                    set(ERA, BCE);
+                }
+            }
+            else { // era == BCE
+                year -= amount;
+                if (year > 0) {
+                    set(YEAR, year);
+                } else { // year <= 0
+                    set(YEAR, 1 - year);
+                    // if year == 0, you get 1 CE
+                    set(ERA, CE);
+                }
+            }
+            pinDayOfMonth();
+        } else if (field == MONTH) {
+            int month = internalGet(MONTH) + amount;
+            int year = internalGet(YEAR);
+            int y_amount;
+
+            if (month >= 0) {
+                y_amount = month/12;
+            } else {
+                y_amount = (month+1)/12 - 1;
+            }
+            if (y_amount != 0) {
+                if (internalGetEra() == CE) {
+                    year += y_amount;
+                    if (year > 0) {
+                        set(YEAR, year);
+                    } else { // year <= 0
+                        set(YEAR, 1 - year);
+                        // if year == 0, you get 1 BCE
+                        set(ERA, BCE);
+                    }
+                }
+                else { // era == BCE
+                    year -= y_amount;
+                    if (year > 0) {
+                        set(YEAR, year);
+                    } else { // year <= 0
+                        set(YEAR, 1 - year);
+                        // if year == 0, you get 1 CE
+                        set(ERA, CE);
+                    }
+                }
+            }
+
+            if (month >= 0) {
+                set(MONTH,  month % 12);
+            } else {
+                // month < 0
+                month %= 12;
+                if (month < 0) {
+                    month += 12;
+                }
+                set(MONTH, JANUARY + month);
+            }
+            pinDayOfMonth();
+        } else if (field == ERA) {
+            int era = internalGet(ERA) + amount;
+            if (era < 0) {
+                era = 0;
+            }
+            if (era > 1) {
+                era = 1;
+            }
+            set(ERA, era);
+        } else {
+            long delta = amount;
+            long timeOfDay = 0;
+            switch (field) {
+            // Handle the time fields here. Convert the given
+            // amount to milliseconds and call setTimeInMillis.
+            case HOUR:
+            case HOUR_OF_DAY:
+                delta *= 60 * 60 * 1000;        // hours to minutes
+                break;
+
+            case MINUTE:
+                delta *= 60 * 1000;             // minutes to seconds
+                break;
+
+            case SECOND:
+                delta *= 1000;                  // seconds to milliseconds
+                break;
+
+            case MILLISECOND:
+                break;
+
+            // Handle week, day and AM_PM fields which involves
+            // time zone offset change adjustment. Convert the
+            // given amount to the number of days.
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                delta *= 7;
+                break;
+
+            case DAY_OF_MONTH: // synonym of DATE
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+                break;
+
+            case AM_PM:
+                // Convert the amount to the number of days (delta)
+                // and +12 or -12 hours (timeOfDay).
+                delta = amount / 2;
+                timeOfDay = 12 * (amount % 2);
+                break;
+            }
+
+            // The time fields don't require time zone offset change
+            // adjustment.
+            if (field >= HOUR) {
+                addTimeOfDay(delta);
+                return;
+            }
+
+            // The rest of the fields (week, day or AM_PM fields)
+            // require time zone offset (both GMT and DST) change
+            // adjustment.
+
+            // Translate the current time to the fixed date and time
+            // of the day.
+            long fd = getCurrentEpochDay();
+            timeOfDay += internalGet(HOUR_OF_DAY);
+            timeOfDay *= 60;
+            timeOfDay += internalGet(MINUTE);
+            timeOfDay *= 60;
+            timeOfDay += internalGet(SECOND);
+            timeOfDay *= 1000;
+            timeOfDay += internalGet(MILLISECOND);
+            if (timeOfDay >= ONE_DAY) {
+                fd++;
+                timeOfDay -= ONE_DAY;
+            } else if (timeOfDay < 0) {
+                fd--;
+                timeOfDay += ONE_DAY;
+            }
+
+            fd += delta; // fd is the expected fixed date after the calculation
+            int zoneOffset = internalGet(ZONE_OFFSET) + internalGet(DST_OFFSET);
+            setTimeInMillis(fd * ONE_DAY + timeOfDay - zoneOffset);
+            zoneOffset -= internalGet(ZONE_OFFSET) + internalGet(DST_OFFSET);
+            // If the time zone offset has changed, then adjust the difference.
+            if (zoneOffset != 0) {
+                setTimeInMillis(time + zoneOffset);
+                long fd2 = getCurrentEpochDay();
+                // If the adjustment has changed the date, then take
+                // the previous one.
+                if (fd2 != fd) {
+                    setTimeInMillis(time - zoneOffset);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or subtracts (up/down) a single unit of time on the given time
+     * field without changing larger fields.
+     *
+     * @param up indicates if the value of the specified time field is to be
+     * rolled up or rolled down. Use true if rolling up, false otherwise.
+     * @exception IllegalArgumentException if <code>field</code> is
+     * <code>ZONE_OFFSET</code>, <code>DST_OFFSET</code>, or unknown,
+     * or if any calendar fields have out-of-range values in
+     * non-lenient mode.
+     * @see #add(int,int)
+     * @see #set(int,int)
+     */
+    @Override
+    public void roll(int field, boolean up) {
+        roll(field, up ? +1 : -1);
+    }
+
+    /**
+     * Adds a signed amount to the specified calendar field without changing larger fields.
+     * A negative roll amount means to subtract from field without changing
+     * larger fields. If the specified amount is 0, this method performs nothing.
+     *
+     * <p>This method calls {@link #complete()} before adding the
+     * amount so that all the calendar fields are normalized. If there
+     * is any calendar field having an out-of-range value in non-lenient mode, then an
+     * <code>IllegalArgumentException</code> is thrown.
+     *
+     * @param field the calendar field.
+     * @param amount the signed amount to add to <code>field</code>.
+     * @exception IllegalArgumentException if <code>field</code> is
+     * <code>ZONE_OFFSET</code>, <code>DST_OFFSET</code>, or unknown,
+     * or if any calendar fields have out-of-range values in
+     * non-lenient mode.
+     * @see #roll(int,boolean)
+     * @see #add(int,int)
+     * @see #set(int,int)
+     * @since 1.2
+     */
+    @Override
+    public void roll(int field, int amount) {
+        // If amount == 0, do nothing even the given field is out of
+        // range. This is tested by JCK.
+        if (amount == 0) {
+            return;
+        }
+
+        if (field < 0 || field >= ZONE_OFFSET) {
+            throw new IllegalArgumentException();
+        }
+
+        // Sync the time and calendar fields.
+        complete();
+
+        int min = getMinimum(field);
+        int max = getMaximum(field);
+
+        switch (field) {
+        case AM_PM:
+        case ERA:
+        case YEAR:
+        case MINUTE:
+        case SECOND:
+        case MILLISECOND:
+            // These fields are handled simply, since they have fixed minima
+            // and maxima.  The field DAY_OF_MONTH is almost as simple.  Other
+            // fields are complicated, since the range within they must roll
+            // varies depending on the date.
+            break;
+
+        case HOUR:
+        case HOUR_OF_DAY:
+            {
+                int rolledValue = getRolledValue(internalGet(field), amount, min, max);
+                int pm = (field == HOUR && internalGet(AM_PM) == PM) ? 12 : 0;
+                int h = internalGet(HOUR_OF_DAY);
+
+                // Perform a wall-clock-based roll.
+                setHourOfDay(rolledValue + pm);
+
+                // If we stay on the same wall-clock time, try the next or previous hour.
+                if (internalGet(HOUR_OF_DAY) == h) {
+                    setHourOfDay(getRolledValue(rolledValue, amount > 0 ? +1 : -1, min, max) + pm);
+                }
+                return;
+            }
+
+        case MONTH:
+            if (!isCutoverYear(internalGetNormalizedYear(), getCurrentEpochDay())) {
+                int mon = (internalGet(MONTH) + amount) % 12;
+                if (mon < 0) {
+                    mon += 12;
+                }
+                set(MONTH, mon);
+
+                // Keep the day of month in the range.  We don't want to spill over
+                // into the next month; e.g., we don't want jan31 + 1 mo -> feb31 ->
+                // mar3.
+                int monthLen = monthLength(mon);
+                if (internalGet(DAY_OF_MONTH) > monthLen) {
+                    set(DAY_OF_MONTH, monthLen);
+                }
+            } else {
+                // We need to take care of different lengths in
+                // year and month due to the cutover.
+                int yearLength = getActualMaximum(MONTH) + 1;
+                int mon = (internalGet(MONTH) + amount) % yearLength;
+                if (mon < 0) {
+                    mon += yearLength;
+                }
+                set(MONTH, mon);
+                int monthLen = getActualMaximum(DAY_OF_MONTH);
+                if (internalGet(DAY_OF_MONTH) > monthLen) {
+                    set(DAY_OF_MONTH, monthLen);
+                }
+            }
+            return;
+
+        case WEEK_OF_YEAR:
+            {
+                int y = internalGetNormalizedYear();
+                max = getActualMaximum(WEEK_OF_YEAR);
+                set(DAY_OF_WEEK, internalGet(DAY_OF_WEEK));
+                int woy = internalGet(WEEK_OF_YEAR);
+                int value = woy + amount;
+                if (!isCutoverYear(y, getCurrentEpochDay())) {
+                    int month = internalGet(MONTH);
+                    // The week year differs from the calendar year if the
+                    // first days of January belong to the last week of the
+                    // previous year, or the last days of December belong to
+                    // the first week of the next year.
+                    int weekYear = y;
+                    if (month == JANUARY && woy >= 52) {
+                        --weekYear;
+                    } else if (month == DECEMBER && woy == 1) {
+                        ++weekYear;
+                    }
+                    if (weekYear == y) {
+                        // If the new value is in between min and max
+                        // (exclusive), then we can use the value.
+                        if (value > min && value < max) {
+                            set(WEEK_OF_YEAR, value);
+                            return;
+                        }
+                        long fd = getCurrentEpochDay();
+                        // Make sure that the min week has the current DAY_OF_WEEK
+                        // in the calendar year
+                        long day1 = fd - (7 * (woy - min));
+                        if (yearFromEpochDay(day1) != y) {
+                            min++;
+                        }
+
+                        // Make sure the same thing for the max week
+                        fd += 7 * (max - internalGet(WEEK_OF_YEAR));
+                        if (yearFromEpochDay(fd) != y) {
+                            max--;
+                        }
+                    } else {
+                        // When WEEK_OF_YEAR and YEAR are out of sync,
+                        // adjust woy and amount to stay in the calendar year.
+                        if (weekYear > y) {
+                            if (amount < 0) {
+                                amount++;
+                            }
+                            woy = max;
+                        } else {
+                            if (amount > 0) {
+                                amount -= woy - max;
+                            }
+                            woy = min;
+                        }
+                    }
+                    set(field, getRolledValue(woy, amount, min, max));
+                    return;
+                }
+
+                // Handle cutover here.
+                long fd = getCurrentEpochDay();
+                long day1 = fd - (7 * (woy - min));
+                // Make sure that the min week has the current DAY_OF_WEEK
+                // in the calendar year. The first week is counted in the
+                // Gregorian calendar only if the year starts in it.
+                boolean gregorian = gregorianCutoverYear != gregorianCutoverYearJulian
+                    && y == gregorianCutoverYear;
+                long year1 = gregorian ? gregorianYearFromEpochDay(day1) : julianYearFromEpochDay(day1);
+                if (year1 != y) {
+                    min++;
+                }
+
+                // Make sure the same thing for the max week
+                fd += 7 * (max - woy);
+                if (yearFromEpochDay(fd) != y) {
+                    max--;
+                }
+                // value: the new WEEK_OF_YEAR which must be converted
+                // to month and day of month.
+                value = getRolledValue(woy, amount, min, max) - 1;
+                setMonthAndDayOfMonth(day1 + value * 7);
+                return;
+            }
+
+        case WEEK_OF_MONTH:
+            {
+                // dow: relative day of week from first day of week
+                int dow = internalGet(DAY_OF_WEEK) - getFirstDayOfWeek();
+                if (dow < 0) {
+                    dow += 7;
+                }
+
+                long fd = getCurrentEpochDay();
+                int y = internalGetNormalizedYear();
+                boolean isCutoverYear = isCutoverYear(y, fd);
+                long month1;     // epoch day of the first day (usually 1) of the month
+                int monthLength; // actual month length
+                if (isCutoverYear) {
+                    month1 = getEpochDayOfMonth1(fd, y, internalGet(MONTH), internalGet(DAY_OF_MONTH));
+                    monthLength = actualMonthLength(fd, y, internalGet(MONTH), internalGet(DAY_OF_MONTH));
+                } else {
+                    month1 = fd - internalGet(DAY_OF_MONTH) + 1;
+                    monthLength = monthLength(internalGet(MONTH));
+                }
+
+                // the first day of week of the month.
+                long monthDay1st = getDayOfWeekDateOnOrBefore(month1 + 6,
+                                                              getFirstDayOfWeek());
+                // if the week has enough days to form a week, the
+                // week starts from the previous month.
+                if ((int)(monthDay1st - month1) >= getMinimalDaysInFirstWeek()) {
+                    monthDay1st -= 7;
+                }
+                max = getActualMaximum(field);
+
+                // value: the new WEEK_OF_MONTH value
+                int value = getRolledValue(internalGet(field), amount, 1, max) - 1;
+
+                // nfd: fixed date of the rolled date
+                long nfd = monthDay1st + value * 7 + dow;
+
+                // Unlike WEEK_OF_YEAR, we need to change day of week if the
+                // nfd is out of the month.
+                if (nfd < month1) {
+                    nfd = month1;
+                } else if (nfd >= (month1 + monthLength)) {
+                    nfd = month1 + monthLength - 1;
+                }
+                if (isCutoverYear) {
+                    // If we are in the cutover year, convert nfd to
+                    // its calendar date and use dayOfMonth.
+                    setMonthAndDayOfMonth(nfd);
+                } else {
+                    set(DAY_OF_MONTH, (int)(nfd - month1) + 1);
+                }
+                return;
+            }
+
+        case DAY_OF_MONTH:
+            {
+                long fd = getCurrentEpochDay();
+                int y = internalGetNormalizedYear();
+                if (!isCutoverYear(y, fd)) {
+                    max = monthLength(internalGet(MONTH));
+                    break;
+                }
+
+                // Cutover year handling
+                int month = internalGet(MONTH);
+                int dayOfMonth = internalGet(DAY_OF_MONTH);
+                long month1 = getEpochDayOfMonth1(fd, y, month, dayOfMonth);
+                // It may not be a regular month. Convert the date and range to
+                // the relative values, perform the roll, and
+                // convert the result back to the rolled date.
+                int value = getRolledValue((int)(fd - month1), amount, 0,
+                                           actualMonthLength(fd, y, month, dayOfMonth) - 1);
+                setMonthAndDayOfMonth(month1 + value);
+                return;
+            }
+
+        case DAY_OF_YEAR:
+            {
+                long fd = getCurrentEpochDay();
+                long jan1 = fd - internalGet(DAY_OF_YEAR) + 1;
+                int y = internalGetNormalizedYear();
+                max = (int)(getEpochDayOfJan1(y + 1) - jan1);
+                int value = getRolledValue(internalGet(DAY_OF_YEAR), amount, min, max);
+                setDateFields(jan1 + value - 1);
+                return;
+            }
+
+        case DAY_OF_WEEK:
+            {
+                if (!isCutoverYear(internalGetNormalizedYear(), getCurrentEpochDay())) {
+                    // If the week of year is in the same year, we can
+                    // just change DAY_OF_WEEK.
+                    int weekOfYear = internalGet(WEEK_OF_YEAR);
+                    if (weekOfYear > 1 && weekOfYear < 52) {
+                        set(WEEK_OF_YEAR, weekOfYear); // update stamp[WEEK_OF_YEAR]
+                        max = SATURDAY;
+                        break;
+                    }
+                }
+
+                // We need to handle it in a different way around year
+                // boundaries. Note that changing era and year values
+                // violates the roll rule: not changing larger calendar
+                // fields...
+                amount %= 7;
+                if (amount == 0) {
+                    return;
+                }
+                long fd = getCurrentEpochDay();
+                long dowFirst = getDayOfWeekDateOnOrBefore(fd, getFirstDayOfWeek());
+                fd += amount;
+                if (fd < dowFirst) {
+                    fd += 7;
+                } else if (fd >= dowFirst + 7) {
+                    fd -= 7;
+                }
+                setDateFields(fd);
+                return;
+            }
+
+        case DAY_OF_WEEK_IN_MONTH:
+            {
+                min = 1; // after normalized, min should be 1.
+                long fd = getCurrentEpochDay();
+                int y = internalGetNormalizedYear();
+                if (!isCutoverYear(y, fd)) {
+                    int dom = internalGet(DAY_OF_MONTH);
+                    int monthLength = monthLength(internalGet(MONTH));
+                    int lastDays = monthLength % 7;
+                    max = monthLength / 7;
+                    int x = (dom - 1) % 7;
+                    if (x < lastDays) {
+                        max++;
+                    }
+                    set(DAY_OF_WEEK, internalGet(DAY_OF_WEEK));
+                    break;
+                }
+
+                // Cutover year handling
+                int month = internalGet(MONTH);
+                int dayOfMonth = internalGet(DAY_OF_MONTH);
+                long month1 = getEpochDayOfMonth1(fd, y, month, dayOfMonth);
+                int monthLength = actualMonthLength(fd, y, month, dayOfMonth);
+                int lastDays = monthLength % 7;
+                max = monthLength / 7;
+                int x = (int)(fd - month1) % 7;
+                if (x < lastDays) {
+                    max++;
+                }
+                int value = getRolledValue(internalGet(field), amount, min, max) - 1;
+                setMonthAndDayOfMonth(month1 + value * 7 + x);
+                return;
+            }
+        }
+
+        set(field, getRolledValue(internalGet(field), amount, min, max));
+    }
+
+    /**
+     * Returns the minimum value for the given calendar field of this
+     * <code>GregorianCalendar</code> instance.
+     *
+     * @param field the calendar field.
+     * @return the minimum value for the given calendar field.
+     * @see #getMaximum(int)
+     * @see #getGreatestMinimum(int)
+     * @see #getLeastMaximum(int)
+     * @see #getActualMinimum(int)
+     * @see #getActualMaximum(int)
+     */
+    @Override
+    public int getMinimum(int field) {
+        return MIN_VALUES[field];
+    }
+
+    /**
+     * Returns the maximum value for the given calendar field of this
+     * <code>GregorianCalendar</code> instance.
+     *
+     * @param field the calendar field.
+     * @return the maximum value for the given calendar field.
+     * @see #getMinimum(int)
+     * @see #getGreatestMinimum(int)
+     * @see #getLeastMaximum(int)
+     * @see #getActualMinimum(int)
+     * @see #getActualMaximum(int)
+     */
+    @Override
+    public int getMaximum(int field) {
+        return MAX_VALUES[field];
+    }
+
+    /**
+     * Returns the highest minimum value for the given calendar field
+     * of this <code>GregorianCalendar</code> instance.
+     *
+     * @param field the calendar field.
+     * @return the highest minimum value for the given calendar field.
+     * @see #getMinimum(int)
+     * @see #getMaximum(int)
+     * @see #getLeastMaximum(int)
+     * @see #getActualMinimum(int)
+     * @see #getActualMaximum(int)
+     */
+    @Override
+    public int getGreatestMinimum(int field) {
+        return MIN_VALUES[field];
+    }
+
+    /**
+     * Returns the lowest maximum value for the given calendar field
+     * of this <code>GregorianCalendar</code> instance.
+     *
+     * @param field the calendar field
+     * @return the lowest maximum value for the given calendar field.
+     * @see #getMinimum(int)
+     * @see #getMaximum(int)
+     * @see #getGreatestMinimum(int)
+     * @see #getActualMinimum(int)
+     * @see #getActualMaximum(int)
+     */
+    @Override
+    public int getLeastMaximum(int field) {
+        return LEAST_MAX_VALUES[field];
+    }
+
+    /**
+     * Returns the maximum value that this calendar field could have,
+     * taking into consideration the given time value and the current
+     * values of the
+     * {@link Calendar#getFirstDayOfWeek() getFirstDayOfWeek},
+     * {@link Calendar#getMinimalDaysInFirstWeek() getMinimalDaysInFirstWeek},
+     * {@link #getGregorianChange() getGregorianChange} and
+     * {@link Calendar#getTimeZone() getTimeZone} methods.
+     *
+     * <p>The maxima are calculated from the year and the month rather
+     * than by setting the field to the values in the range of the
+     * field, including in the years of the Gregorian change.
+     *
+     * @param field the calendar field
+     * @return the maximum of the given field for the time value of
+     * this <code>GregorianCalendar</code>
+     * @see #getMinimum(int)
+     * @see #getMaximum(int)
+     * @see #getGreatestMinimum(int)
+     * @see #getLeastMaximum(int)
+     * @see #getActualMinimum(int)
+     */
+    @Override
+    public int getActualMaximum(int field) {
+        final int fieldsForFixedMax = ERA_MASK|DAY_OF_WEEK_MASK|HOUR_MASK|AM_PM_MASK|
+            HOUR_OF_DAY_MASK|MINUTE_MASK|SECOND_MASK|MILLISECOND_MASK|
+            ZONE_OFFSET_MASK|DST_OFFSET_MASK;
+        if ((fieldsForFixedMax & (1<<field)) != 0) {
+            return getMaximum(field);
+        }
+
+        GregorianCalendar gc = getNormalizedCalendar();
+        if (field == YEAR) {
+            return (gc == this ? (GregorianCalendar) clone() : gc).getActualMaximumYear();
+        }
+        long epochDay = gc.getCurrentEpochDay();
+        int year = gc.internalGetNormalizedYear();
+        int month = gc.internalGet(MONTH);
+        int dayOfMonth = gc.internalGet(DAY_OF_MONTH);
+        if (isCutoverYear(year, epochDay)) {
+            // The months and weeks around the Gregorian change are
+            // shortened by the skipped days.
+            return gc.getCutoverYearActualMaximum(field, epochDay, year, month, dayOfMonth);
+        }
+        boolean julian = epochDay < gregorianCutoverDay;
+        int monthLength = monthLength(month, year, julian);
+
+        switch (field) {
+        case MONTH:
+            return DECEMBER;
+
+        case DAY_OF_MONTH:
+            return monthLength;
+
+        case DAY_OF_YEAR:
+            return monthLength(FEBRUARY, year, julian) == 29 ? 366 : 365;
+
+        case WEEK_OF_YEAR:
+            {
+                long jan1 = julian ? julianEpochDay(year, JANUARY, 1)
+                    : gregorianEpochDay(year, JANUARY, 1);
+                // dow: relative day of week of January 1 from first day of week
+                int dow = dayOfWeek(jan1) - getFirstDayOfWeek();
+                if (dow < 0) {
+                    dow += 7;
+                }
+                // The year has 53 weeks if the days before the first
+                // week and after the 52nd week form a full week.
+                int magic = dow + getMinimalDaysInFirstWeek() - 1;
+                boolean leap = monthLength(FEBRUARY, year, julian) == 29;
+                return (magic == 6 || (leap && (magic == 5 || magic == 12))) ? 53 : 52;
+            }
+
+        case WEEK_OF_MONTH:
+            {
+                long month1 = julian ? julianEpochDay(year, month, 1)
+                    : gregorianEpochDay(year, month, 1);
+                int dow = dayOfWeek(month1) - getFirstDayOfWeek();
+                if (dow < 0) {
+                    dow += 7;
+                }
+                // The days of the month in the first week, which is week
+                // 1 if it has enough days and week 0 otherwise, followed
+                // by 3 full weeks and the remaining days.
+                int daysInFirstWeek = 7 - dow;
+                int value = daysInFirstWeek >= getMinimalDaysInFirstWeek() ? 4 : 3;
+                int remainingDays = monthLength - daysInFirstWeek - 7 * 3;
+                if (remainingDays > 0) {
+                    value++;
+                    if (remainingDays > 7) {
+                        value++;
+                    }
+                }
+                return value;
+            }
+
+        case DAY_OF_WEEK_IN_MONTH:
+            {
+                // x: the 0-based day of month of the first day in the
+                // month with the current day of week
+                int x = (dayOfMonth - 1) % 7;
+                return (monthLength - x + 6) / 7;
+            }
+
+        default:
+            throw new ArrayIndexOutOfBoundsException(field);
+        }
+    }
+
+    /**
+     * Returns the actual maximum of the given date field in the year
+     * of the Gregorian change. This calendar must be normalized.
+     */
+    private int getCutoverYearActualMaximum(int field, long epochDay, int year, int month, int dayOfMonth) {
+        int[] date = new int[DAY_OF_MONTH + 1];
+        switch (field) {
+        case MONTH:
+            {
+                // January 1 of the next year may or may not exist.
+                int nextYear = year;
+                long nextJan1;
+                do {
+                    nextJan1 = gregorianEpochDay(++nextYear, JANUARY, 1);
+                } while (nextJan1 < gregorianCutoverDay);
+                if (epochDay >= gregorianCutoverDay) {
+                    decodeGregorianEpochDay(nextJan1 - 1, date);
+                } else {
+                    decodeJulianEpochDay(nextJan1 - 1, date);
+                }
+                return date[MONTH];
+            }
+
+        case DAY_OF_MONTH:
+            {
+                int value = monthLength(month, year, epochDay < gregorianCutoverDay);
+                if (dayOfMonth == value || epochDay >= gregorianCutoverDay) {
+                    return value;
+                }
+                long month1 = getEpochDayOfMonth1(epochDay, year, month, dayOfMonth);
+                decodeEpochDay(month1 + actualMonthLength(epochDay, year, month, dayOfMonth) - 1, date);
+                return date[DAY_OF_MONTH];
+            }
+
+        case DAY_OF_YEAR:
+            return getCutoverYearLength(year);
+
+        case WEEK_OF_YEAR:
+            {
+                // The week of the last day of the year, or of the day a
+                // week before if the last day is in the next week year.
+                long lastDay = getEpochDayOfJan1(year) + getCutoverYearLength(year) - 1;
+                int lastYear = yearFromEpochDay(lastDay);
+                if (getWeekYear(lastDay, lastYear) != year) {
+                    lastDay -= 7;
+                    lastYear = yearFromEpochDay(lastDay);
+                }
+                return getWeekOfYear(lastDay, lastYear);
+            }
+
+        case WEEK_OF_MONTH:
+            {
+                // The week of the last day of the month with the
+                // current day of week.
+                long month1 = getEpochDayOfMonth1(epochDay, year, month, dayOfMonth);
+                long monthEnd = month1 + actualMonthLength(epochDay, year, month, dayOfMonth) - 1;
+                return getWeekNumber(month1, epochDay + 7 * ((monthEnd - epochDay) / 7));
+            }
+
+        case DAY_OF_WEEK_IN_MONTH:
+            {
+                long month1 = getEpochDayOfMonth1(epochDay, year, month, dayOfMonth);
+                int ndays = actualMonthLength(epochDay, year, month, dayOfMonth);
+                // x: the days from the first day of the month to the
+                // first day with the current day of week
+                int x = (int) floorMod(epochDay - month1, 7);
+                return (ndays - x + 6) / 7;
+            }
+
+        default:
+            throw new ArrayIndexOutOfBoundsException(field);
+        }
+    }
+
+    /**
+     * Returns the actual maximum of the YEAR field, which is the year
+     * of the maximum or minimum time value unless the time in the year
+     * of this calendar is beyond it. This calendar must be a normalized
+     * clone, since its time value is changed.
+     */
+    private int getActualMaximumYear() {
+        // Calculate the millisecond offset from the beginning
+        // of the year of this calendar and adjust the max
+        // year value if we are beyond the limit in the max
+        // year.
+        long current = getYearOffsetInMillis();
+        int value;
+        if (internalGetEra() == CE) {
+            setTimeInMillis(Long.MAX_VALUE);
+            value = internalGet(YEAR);
+            long maxEnd = getYearOffsetInMillis();
+            if (current > maxEnd) {
+                value--;
+            }
+        } else {
+            setTimeInMillis(Long.MIN_VALUE);
+            value = internalGet(YEAR);
+            long maxEnd = getYearOffsetInMillis() + internalGet(ZONE_OFFSET) + internalGet(DST_OFFSET);
+            if (current < maxEnd) {
+                value--;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the milliseconds from the beginning of the year to the
+     * time of the current fields, less the zone offsets.
+     */
+    private long getYearOffsetInMillis() {
+        long t = (internalGet(DAY_OF_YEAR) - 1) * 24L;
+        t += internalGet(HOUR_OF_DAY);
+        t *= 60;
+        t += internalGet(MINUTE);
+        t *= 60;
+        t += internalGet(SECOND);
+        t *= 1000;
+        return t + internalGet(MILLISECOND) - (internalGet(ZONE_OFFSET) + internalGet(DST_OFFSET));
+    }
+
+    /**
+     * Returns the minimum value that this calendar field could have,
+     * taking into consideration the given time value and the current
+     * values of the
+     * {@link Calendar#getFirstDayOfWeek() getFirstDayOfWeek},
+     * {@link Calendar#getMinimalDaysInFirstWeek() getMinimalDaysInFirstWeek},
+     * {@link #getGregorianChange() getGregorianChange} and
+     * {@link Calendar#getTimeZone() getTimeZone} methods.
+     *
+     * <p>For example, if the Gregorian change date is January 10,
+     * 1970 and the date of this <code>GregorianCalendar</code> is
+     * January 20, 1970, the actual minimum value of the
+     * <code>DAY_OF_MONTH</code> field is 10 because the previous date
+     * of January 10, 1970 is December 27, 1969 (in the Julian
+     * calendar). Therefore, December 28, 1969 to January 9, 1970
+     * don't exist.
+     *
+     * @param field the calendar field
+     * @return the minimum of the given field for the time value of
+     * this <code>GregorianCalendar</code>
+     * @see #getMinimum(int)
+     * @see #getMaximum(int)
+     * @see #getGreatestMinimum(int)
+     * @see #getLeastMaximum(int)
+     * @see #getActualMaximum(int)
+     */
+    @Override
+    public int getActualMinimum(int field) {
+        if (field == DAY_OF_MONTH) {
+            GregorianCalendar gc = getNormalizedCalendar();
+            int year = gc.internalGetNormalizedYear();
+            if (year == gregorianCutoverYear || year == gregorianCutoverYearJulian) {
+                long month1 = getEpochDayOfMonth1(gc.getCurrentEpochDay(), year,
+                                                  gc.internalGet(MONTH), gc.internalGet(DAY_OF_MONTH));
+                int[] date = new int[DAY_OF_MONTH + 1];
+                decodeEpochDay(month1, date);
+                return date[DAY_OF_MONTH];
+            }
+        }
+        return getMinimum(field);
+    }
+
+    /**
+     * Returns {@code true} indicating this {@code GregorianCalendar}
+     * supports week dates.
+     *
+     * @return {@code true} (always)
+     * @see #getWeekYear()
+     * @see #setWeekDate(int,int,int)
+     * @see #getWeeksInWeekYear()
+     * @since 1.7
+     */
+    @Override
+    public final boolean isWeekDateSupported() {
+        return true;
+    }
+
+    /**
+     * Returns the week year represented by this
+     * {@code GregorianCalendar}. The dates in the weeks between 1 and the
+     * maximum week number of the week year have the same week year value
+     * that may be one year before or after the {@link #YEAR YEAR}
+     * (calendar year) value.
+     *
+     * <p>The week year is the normalized year, in which 0 is 1 BCE, -1
+     * is 2 BCE, and so on.
+     *
+     * @return the week year represented by this {@code GregorianCalendar}.
+     * @see #isWeekDateSupported()
+     * @see #getWeeksInWeekYear()
+     * @see #getFirstDayOfWeek()
+     * @see #getMinimalDaysInFirstWeek()
+     * @since 1.7
+     */
+    @Override
+    public int getWeekYear() {
+        GregorianCalendar gc = getNormalizedCalendar();
+        return gc.getWeekYear(gc.getCurrentEpochDay(), gc.internalGetNormalizedYear());
+    }
+
+    /**
+     * Sets this {@code GregorianCalendar} to the date given by the
+     * date specifiers - {@code weekYear}, {@code weekOfYear}, and
+     * {@code dayOfWeek}. {@code weekOfYear} follows the <a
+     * href="Calendar.html#first_week">{@code WEEK_OF_YEAR}
+     * numbering</a>.  The {@code dayOfWeek} value must be one of the
+     * {@link #DAY_OF_WEEK DAY_OF_WEEK} values: {@link
+     * Calendar#SUNDAY SUNDAY} to {@link Calendar#SATURDAY SATURDAY}.
+     * The time of day is not changed.
+     *
+     * <p>In non-lenient mode, an {@code IllegalArgumentException} is
+     * thrown if {@code weekOfYear} is out of the weeks of
+     * {@code weekYear}, or if the resulting date or the other calendar
+     * fields are invalid; this calendar is then left unchanged. In
+     * lenient mode, the weeks are counted on from the first week of
+     * {@code weekYear}.
+     *
+     * @param weekYear    the normalized week year
+     * @param weekOfYear  the week number based on {@code weekYear}
+     * @param dayOfWeek   the day of week value: one of the constants
+     *                    for the {@link #DAY_OF_WEEK DAY_OF_WEEK} field:
+     *                    {@link Calendar#SUNDAY SUNDAY}, ...,
+     *                    {@link Calendar#SATURDAY SATURDAY}.
+     * @exception IllegalArgumentException
+     *            if any of the given date specifiers is invalid,
+     *            or if any of the calendar fields are inconsistent
+     *            with the given date specifiers in non-lenient mode
+     * @see GregorianCalendar#isWeekDateSupported()
+     * @see Calendar#getFirstDayOfWeek()
+     * @see Calendar#getMinimalDaysInFirstWeek()
+     * @since 1.7
+     */
+    @Override
+    public void setWeekDate(int weekYear, int weekOfYear, int dayOfWeek) {
+        if (dayOfWeek < SUNDAY || dayOfWeek > SATURDAY) {
+            throw new IllegalArgumentException("invalid dayOfWeek: " + dayOfWeek);
+        }
+
+        // days: the days from the first day of the first week
+        int days = dayOfWeek - getFirstDayOfWeek();
+        if (days < 0) {
+            days += 7;
+        }
+        long epochDay = getWeekYearStart(weekYear) + days + 7L * (weekOfYear - 1);
+        if (!isLenient() && (weekOfYear < 1 || epochDay >= getWeekYearStart(weekYear + 1))) {
+            throw new IllegalArgumentException("invalid weekOfYear: " + weekOfYear);
+        }
+
+        if (!isLenient()) {
+            // Validate the date and the other fields on a clone, so that
+            // this calendar is left unchanged if they're invalid.
+            GregorianCalendar gc = (GregorianCalendar) clone();
+            gc.setDateFields(epochDay);
+            gc.complete();
+        }
+        setDateFields(epochDay);
+        complete();
+    }
+
+    /**
+     * Returns the number of weeks in the week year
+     * represented by this {@code GregorianCalendar}.
+     *
+     * <p>For example, if this {@code GregorianCalendar}'s date is
+     * December 31, 2008 with the ISO 8601 compatible setting
+     * ({@code MONDAY} and 4 minimal days), this method will return 53 for the
+     * period: December 29, 2008 to January 3, 2010 while {@link
+     * #getActualMaximum(int) getActualMaximum(WEEK_OF_YEAR)} will return
+     * 52 for the period: December 31, 2007 to December 28, 2008.
+     *
+     * @return the number of weeks in the week year.
+     * @see Calendar#WEEK_OF_YEAR
+     * @see #getWeekYear()
+     * @see #getActualMaximum(int)
+     * @since 1.7
+     */
+    @Override
+    public int getWeeksInWeekYear() {
+        GregorianCalendar gc = getNormalizedCalendar();
+        int weekYear = gc.getWeekYear(gc.getCurrentEpochDay(), gc.internalGetNormalizedYear());
+        return (int)(getWeekYearStart(weekYear + 1) - getWeekYearStart(weekYear)) / 7;
+    }
+
+    /**
+     * Returns this calendar if its fields are in sync with the time
+     * value, or a normalized lenient clone otherwise.
+     */
+    private GregorianCalendar getNormalizedCalendar() {
+        if (isFullyNormalized()) {
+            return this;
+        }
+        GregorianCalendar gc = (GregorianCalendar) clone();
+        gc.setLenient(true);
+        gc.complete();
+        return gc;
+    }
+
+    @Override
+    public Object clone()
+    {
+        GregorianCalendar other = (GregorianCalendar) super.clone();
+        // The scratch buffers must not be shared between the clones.
+        other.originalFields = null;
+        other.zoneOffsets = null;
+        return other;
+    }
+
+//////////////////////
+// Proposed public API
+//////////////////////
+
+    /**
+     * Converts the time value (millisecond offset from the <a
+     * href="Calendar.html#Epoch">Epoch</a>) to calendar field values.
+     * The time is <em>not</em>
+     * recomputed first; to recompute the time, then the fields, call the
+     * <code>complete</code> method.
+     *
+     * @see Calendar#complete
+     */
+    @Override
+    protected void computeFields() {
+        int mask;
+        if (isPartiallyNormalized()) {
+            // Determine which calendar fields need to be computed.
+            mask = getSetStateFields();
+            int fieldMask = ~mask & ALL_FIELDS;
+            if (fieldMask != 0) {
+                mask |= computeFields(fieldMask,
+                                      mask & (ZONE_OFFSET_MASK|DST_OFFSET_MASK));
+                assert mask == ALL_FIELDS;
+            }
+        } else {
+            mask = ALL_FIELDS;
+            computeFields(mask, 0);
+        }
+        // After computing all the fields, set the field state to `COMPUTED'.
+        setFieldsComputed(mask);
+    }
+
+    /**
+     * This computeFields implements the conversion from UTC
+     * (millisecond offset from the Epoch) to calendar
+     * field values. fieldMask specifies which fields to change the
+     * setting state to COMPUTED, although all fields are set to
+     * the correct values. This is required to fix 4685354.
+     *
+     * @param fieldMask a bit mask to specify which fields to change
+     * the setting state.
+     * @param tzMask a bit mask to specify which time zone offset
+     * fields to be used for time calculations
+     * @return a new field mask that indicates what field values have
+     * actually been set.
+     */
+    private int computeFields(int fieldMask, int tzMask) {
+        int zoneOffset = 0;
+        int rawOffset = 0;
+        TimeZone tz = getZone();
+        if (tzMask != (ZONE_OFFSET_MASK|DST_OFFSET_MASK)) {
+            zoneOffset = getZoneOffsets(tz, time);
+            rawOffset = zoneOffsets[0];
+        }
+        int dstOffset = zoneOffset - rawOffset;
+        if (tzMask != 0) {
+            if (isFieldSet(tzMask, ZONE_OFFSET)) {
+                rawOffset = internalGet(ZONE_OFFSET);
+            }
+            if (isFieldSet(tzMask, DST_OFFSET)) {
+                dstOffset = internalGet(DST_OFFSET);
+            }
+            zoneOffset = rawOffset + dstOffset;
+        }
+
+        // Split the local time into the epoch day and the time of
+        // day. floorDivide is required for the time values before
+        // the Epoch. The offset is added to the time of day, since
+        // adding it to the time value could overflow near
+        // Long.MIN_VALUE and Long.MAX_VALUE.
+        long epochDay = floorDivide(time, ONE_DAY);
+        long localTimeOfDay = (time - epochDay * ONE_DAY) + zoneOffset;
+        epochDay += floorDivide(localTimeOfDay, ONE_DAY);
+        int timeOfDay = (int) floorMod(localTimeOfDay, ONE_DAY);
+
+        // Calculate the date fields unless the date is the same as
+        // the previous calculation. decodeEpochDay stores the
+        // normalized (proleptic) year, which is converted to the
+        // era-based YEAR value here.
+        if (epochDay != cachedEpochDay) {
+            decodeEpochDay(epochDay, fields);
+            cachedEpochDay = epochDay;
+            cachedYear = internalGet(YEAR);
+            cachedMonth = internalGet(MONTH);
+            cachedDayOfMonth = internalGet(DAY_OF_MONTH);
+            cachedWeekDefinition = 0;
+        } else {
+            internalSet(MONTH, cachedMonth);
+            internalSet(DAY_OF_MONTH, cachedDayOfMonth);
+        }
+        int normalizedYear = cachedYear;
+        if (normalizedYear > 0) {
+            internalSet(ERA, CE);
+            internalSet(YEAR, normalizedYear);
+        } else {
+            internalSet(ERA, BCE);
+            internalSet(YEAR, 1 - normalizedYear);
+        }
+        int dayOfMonth = cachedDayOfMonth;
+        internalSet(DAY_OF_WEEK, dayOfWeek(epochDay));
+        int mask = ERA_MASK|YEAR_MASK|MONTH_MASK|DAY_OF_MONTH_MASK|DAY_OF_WEEK_MASK;
+
+        if ((fieldMask & (HOUR_OF_DAY_MASK|AM_PM_MASK|HOUR_MASK
+                          |MINUTE_MASK|SECOND_MASK|MILLISECOND_MASK)) != 0) {
+            setTimeOfDayFields(timeOfDay);
+            mask |= (HOUR_OF_DAY_MASK|AM_PM_MASK|HOUR_MASK
+                     |MINUTE_MASK|SECOND_MASK|MILLISECOND_MASK);
+        }
+
+        if ((fieldMask & (ZONE_OFFSET_MASK|DST_OFFSET_MASK)) != 0) {
+            internalSet(ZONE_OFFSET, rawOffset);
+            internalSet(DST_OFFSET, dstOffset);
+            mask |= (ZONE_OFFSET_MASK|DST_OFFSET_MASK);
+        }
+
+        if ((fieldMask & (DAY_OF_YEAR_MASK|WEEK_OF_YEAR_MASK|WEEK_OF_MONTH_MASK
+                          |DAY_OF_WEEK_IN_MONTH_MASK)) != 0) {
+            if (cachedWeekDefinition != getWeekDefinition()) {
+                computeWeekFields(epochDay, normalizedYear, dayOfMonth);
+            }
+            internalSet(DAY_OF_YEAR, cachedDayOfYear);
+            internalSet(WEEK_OF_YEAR, cachedWeekOfYear);
+            internalSet(WEEK_OF_MONTH, cachedWeekOfMonth);
+            internalSet(DAY_OF_WEEK_IN_MONTH, cachedDayOfWeekInMonth);
+            mask |= (DAY_OF_YEAR_MASK|WEEK_OF_YEAR_MASK|WEEK_OF_MONTH_MASK|DAY_OF_WEEK_IN_MONTH_MASK);
+        }
+        return mask;
+    }
+
+    /**
+     * Sets the HOUR_OF_DAY, AM_PM, HOUR, MINUTE, SECOND and
+     * MILLISECOND fields to the given milliseconds of the day.
+     */
+    private void setTimeOfDayFields(int timeOfDay) {
+        int hours = timeOfDay / ONE_HOUR;
+        internalSet(HOUR_OF_DAY, hours);
+        internalSet(AM_PM, hours / 12); // Assume AM == 0
+        internalSet(HOUR, hours % 12);
+        int r = timeOfDay % ONE_HOUR;
+        internalSet(MINUTE, r / ONE_MINUTE);
+        r %= ONE_MINUTE;
+        internalSet(SECOND, r / ONE_SECOND);
+        internalSet(MILLISECOND, r % ONE_SECOND);
+    }
+
+    /**
+     * Adds the given milliseconds to the time value of this calendar,
+     * whose fields must be complete. If the result is on the same
+     * local date with the same time zone offsets, only the time of day
+     * fields are updated. Otherwise, for example if a daylight saving
+     * time transition is crossed, all the fields are recalculated.
+     */
+    private void addTimeOfDay(long delta) {
+        if (!addTimeOfDayInDay(delta)) {
+            setTimeInMillis(time + delta);
+        }
+    }
+
+    /**
+     * Sets the hour of day of this calendar, whose fields must be
+     * complete, keeping the date and the other time of day fields. The
+     * wall-clock time is resolved as by <code>set(HOUR_OF_DAY,
+     * hourOfDay)</code> if the time zone offsets change.
+     */
+    private void setHourOfDay(int hourOfDay) {
+        if (!addTimeOfDayInDay(ONE_HOUR * (long)(hourOfDay - internalGet(HOUR_OF_DAY)))) {
+            set(HOUR_OF_DAY, hourOfDay);
+            complete();
+        }
+    }
+
+    /**
+     * Adds the given milliseconds to the time value of this calendar,
+     * whose fields must be complete, and updates only the time of day
+     * fields if the result is on the same local date with the same
+     * time zone offsets.
+     *
+     * @return true if the milliseconds have been added, or false if
+     * this calendar is unchanged
+     */
+    private boolean addTimeOfDayInDay(long delta) {
+        long timeOfDay = delta + internalGet(MILLISECOND)
+            + ((internalGet(HOUR_OF_DAY) * 60L + internalGet(MINUTE)) * 60 + internalGet(SECOND)) * ONE_SECOND;
+        if (timeOfDay < 0 || timeOfDay >= ONE_DAY) {
+            return false;
+        }
+        long millis = time + delta;
+        int rawOffset = internalGet(ZONE_OFFSET);
+        int zoneOffset = getZoneOffsets(getZone(), millis);
+        if (zoneOffsets[0] != rawOffset || zoneOffset != rawOffset + internalGet(DST_OFFSET)) {
+            return false;
+        }
+        time = millis;
+        setTimeOfDayFields((int) timeOfDay);
+        return true;
+    }
+
+    /**
+     * Stores the raw and DST offsets of the given UTC time in
+     * <code>zoneOffsets</code> and returns their sum. A
+     * <code>TransitionTimeZone</code> or a <code>ZoneInfo</code> gives
+     * the raw offset in effect at the time rather than the current one.
+     */
+    private int getZoneOffsets(TimeZone tz, long utc) {
+        if (zoneOffsets == null) {
+            zoneOffsets = new int[2];
+        }
+        if (tz instanceof TransitionTimeZone) {
+            return ((TransitionTimeZone)tz).getOffsets(utc, zoneOffsets);
+        }
+        if (tz instanceof ZoneInfo) {
+            return ((ZoneInfo)tz).getOffsets(utc, zoneOffsets);
+        }
+        int zoneOffset = tz.getOffset(utc);
+        zoneOffsets[0] = tz.getRawOffset();
+        zoneOffsets[1] = zoneOffset - zoneOffsets[0];
+        return zoneOffset;
+    }
+
+    /**
+     * Calculates the DAY_OF_YEAR, WEEK_OF_YEAR, WEEK_OF_MONTH and
+     * DAY_OF_WEEK_IN_MONTH values of the given date and stores them in
+     * the cache.
+     */
+    private void computeWeekFields(long epochDay, int normalizedYear, int dayOfMonth) {
+        long fixedDateJan1 = getEpochDayOfJan1(normalizedYear);
+        cachedDayOfYear = (int)(epochDay - fixedDateJan1) + 1;
+
+        cachedWeekOfYear = getWeekOfYear(epochDay, normalizedYear);
+        long month1 = getEpochDayOfMonth1(epochDay, normalizedYear, cachedMonth, dayOfMonth);
+        cachedWeekOfMonth = getWeekNumber(month1, epochDay);
+        cachedDayOfWeekInMonth = (int)(epochDay - month1) / 7 + 1;
+        cachedWeekDefinition = getWeekDefinition();
+    }
+
+    /**
+     * Returns the WEEK_OF_YEAR value of the given epoch day, which is
+     * in the given normalized year.
+     */
+    private int getWeekOfYear(long epochDay, int normalizedYear) {
+        long fixedDateJan1 = getEpochDayOfJan1(normalizedYear);
+        int weekOfYear = getWeekNumber(fixedDateJan1, epochDay);
+
+        // The spec is to calculate WEEK_OF_YEAR in the
+        // ISO8601-style. This creates problems, though.
+        if (weekOfYear == 0) {
+            // If the date belongs to the last week of the
+            // previous year, use the week number of "12/31" of
+            // the "previous" year.
+            long prevJan1 = getEpochDayOfJan1(normalizedYear - 1);
+            weekOfYear = getWeekNumber(prevJan1, fixedDateJan1 - 1);
+        } else if (weekOfYear >= 52
+                   || (normalizedYear >= gregorianCutoverYearJulian - 1
+                       && normalizedYear <= gregorianCutoverYear)) {
+            // A year around the Gregorian change may be shorter and
+            // end with the first week of the next year before week 52.
+            long nextJan1 = getEpochDayOfJan1(normalizedYear + 1);
+            long nextJan1st = getDayOfWeekDateOnOrBefore(nextJan1 + 6,
+                                                         getFirstDayOfWeek());
+            int ndays = (int)(nextJan1st - nextJan1);
+            if (ndays >= getMinimalDaysInFirstWeek() && epochDay >= (nextJan1st - 7)) {
+                // The first days forms a week in which the date is included.
+                weekOfYear = 1;
+            }
+        }
+        return weekOfYear;
+    }
+
+    /**
+     * Returns true if the given normalized year of the given epoch day
+     * is the year of the Gregorian change in the calendar system in
+     * effect on that day.
+     */
+    private boolean isCutoverYear(int year, long epochDay) {
+        int cutoverYear = (epochDay >= gregorianCutoverDay) ? gregorianCutoverYear : gregorianCutoverYearJulian;
+        return year == cutoverYear;
+    }
+
+    /**
+     * Returns the number of days in the year of the Gregorian change
+     * from January 1 of the given normalized year to January 1 of the
+     * next year.
+     */
+    private int getCutoverYearLength(int year) {
+        return (int)(getEpochDayOfJan1(year + 1) - getEpochDayOfJan1(year));
+    }
+
+    /**
+     * Returns the number of days in the month of the given date, which
+     * is shortened by the skipped days in the month of the Gregorian
+     * change.
+     */
+    private int actualMonthLength(long epochDay, int year, int month, int dayOfMonth) {
+        int monthLength = monthLength(month, year, epochDay < gregorianCutoverDay);
+        if (year != gregorianCutoverYear && year != gregorianCutoverYearJulian) {
+            return monthLength;
+        }
+        long month1 = getEpochDayOfMonth1(epochDay, year, month, dayOfMonth);
+        long next1 = month1 + monthLength;
+        if (next1 < gregorianCutoverDay) {
+            return monthLength;
+        }
+        int[] date = new int[DAY_OF_MONTH + 1];
+        decodeGregorianEpochDay(next1, date);
+        next1 = getEpochDayOfMonth1(next1, date[YEAR], date[MONTH], date[DAY_OF_MONTH]);
+        return (int)(next1 - month1);
+    }
+
+    /**
+     * Returns a non-zero value identifying the current first day of
+     * week and minimal days in first week.
+     */
+    private int getWeekDefinition() {
+        return (getFirstDayOfWeek() << 4) | getMinimalDaysInFirstWeek();
+    }
+
+    /**
+     * Returns the number of weeks in a period between fixedDay1 and
+     * fixedDate. The getFirstDayOfWeek-getMinimalDaysInFirstWeek rule
+     * is applied to calculate the number of weeks.
+     *
+     * @param fixedDay1 the epoch day of the first day of the period
+     * @param fixedDate the epoch day of the last day of the period
+     * @return the number of weeks of the given period
+     */
+    private int getWeekNumber(long fixedDay1, long fixedDate) {
+        // We can always use `gcal' since Julian and Gregorian are the
+        // same thing for this calculation.
+        long fixedDay1st = getDayOfWeekDateOnOrBefore(fixedDay1 + 6,
+                                                      getFirstDayOfWeek());
+        int ndays = (int)(fixedDay1st - fixedDay1);
+        assert ndays <= 7;
+        if (ndays >= getMinimalDaysInFirstWeek()) {
+            fixedDay1st -= 7;
+        }
+        int normalizedDayOfPeriod = (int)(fixedDate - fixedDay1st);
+        if (normalizedDayOfPeriod >= 0) {
+            return normalizedDayOfPeriod / 7 + 1;
+        }
+        return (int) floorDivide(normalizedDayOfPeriod, 7) + 1;
+    }
+
+    /**
+     * Returns the epoch day of the first day of the first week of the
+     * given normalized week year.
+     */
+    private long getWeekYearStart(int weekYear) {
+        long jan1 = getEpochDayOfJan1(weekYear);
+        long start = getDayOfWeekDateOnOrBefore(jan1 + 6, getFirstDayOfWeek());
+        // The days of January before start form the first week if
+        // there are enough of them.
+        if ((int)(start - jan1) >= getMinimalDaysInFirstWeek()) {
+            start -= 7;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the normalized week year of the given epoch day, which
+     * is in the given normalized year.
+     */
+    private int getWeekYear(long epochDay, int year) {
+        if (epochDay < getWeekYearStart(year)) {
+            return year - 1;
+        }
+        if (epochDay >= getWeekYearStart(year + 1)) {
+            return year + 1;
+        }
+        return year;
+    }
+
+    /**
+     * Converts calendar field values to the time value (millisecond
+     * offset from the <a href="Calendar.html#Epoch">Epoch</a>).
+     *
+     * @exception IllegalArgumentException if any calendar fields are invalid.
+     */
+    @Override
+    protected void computeTime() {
+        // In non-lenient mode, perform brief checking of calendar
+        // fields which have been set externally. Through this
+        // checking, the field values are stored in originalFields[]
+        // to see if any of them are normalized later.
+        if (!isLenient()) {
+            if (originalFields == null) {
+                originalFields = new int[FIELD_COUNT];
+            }
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                int value = internalGet(field);
+                if (isExternallySet(field)) {
+                    // Quick validation for any out of range values
+                    if (value < getMinimum(field) || value > getMaximum(field)) {
+                        throw new IllegalArgumentException(getFieldName(field));
+                    }
+                }
+                originalFields[field] = value;
+            }
+        }
+
+        // Let the super class determine which calendar fields to be
+        // used to calculate the time.
+        int fieldMask = selectFields();
+        int tzMask = fieldMask & (ZONE_OFFSET_MASK|DST_OFFSET_MASK);
+
+        // Set this calendar's time in milliseconds
+        time = computeMillis(fieldMask, isLenient());
+
+        // If year is 0 or negative, we need to set the ERA value later.
+        if (!isSet(ERA) && isSet(YEAR) && internalGet(YEAR) <= 0) {
+            fieldMask |= ERA_MASK;
+            setFieldsComputed(ERA_MASK);
+        }
+
+        int mask = computeFields(fieldMask | getSetStateFields(), tzMask);
+
+        if (!isLenient()) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (!isExternallySet(field)) {
+                    continue;
+                }
+                if (originalFields[field] != internalGet(field)) {
+                    String s = originalFields[field] + " -> " + internalGet(field);
+                    // Restore the original field values
+                    System.arraycopy(originalFields, 0, fields, 0, fields.length);
+                    throw new IllegalArgumentException(getFieldName(field) + ": " + s);
+                }
+            }
+        }
+        setFieldsNormalized(mask);
+    }
+
+    /**
+     * Converts the calendar field values selected by
+     * <code>fieldMask</code> to the time value. This method doesn't
+     * change any state of this calendar other than the zoneOffsets
+     * scratch buffer.
+     *
+     * @param fieldMask the calendar fields to be used for the calculation
+     * @param lenient false to reject a date in the cutover gap
+     * @return the time value in milliseconds
+     * @exception IllegalArgumentException if the ERA value is invalid
+     * or, if not lenient, the date doesn't exist
+     */
+    private long computeMillis(int fieldMask, boolean lenient) {
+        // The year defaults to the epoch start. We don't check
+        // fieldMask for YEAR because YEAR is a mandatory field to
+        // determine the date.
+        int year = isSet(YEAR) ? internalGet(YEAR) : EPOCH_YEAR;
+
+        int era = internalGetEra();
+        if (era == BCE) {
+            year = 1 - year;
+        } else if (era != CE) {
+            // Even in lenient mode we disallow ERA values other than CE & BCE.
+            // (The same normalization rule as add()/roll() could be
+            // applied here in lenient mode. But this checking is kept
+            // unchanged for compatibility as of 1.5.)
+            throw new IllegalArgumentException("Invalid era");
+        }
+
+        // Calculate the time of day. We rely on the convention that
+        // an UNSET field has 0.
+        long timeOfDay = 0;
+        if (isFieldSet(fieldMask, HOUR_OF_DAY)) {
+            timeOfDay += (long) internalGet(HOUR_OF_DAY);
+        } else {
+            timeOfDay += internalGet(HOUR);
+            // The default value of AM_PM is 0 which designates AM.
+            if (isFieldSet(fieldMask, AM_PM)) {
+                timeOfDay += 12 * internalGet(AM_PM);
+            }
+        }
+        timeOfDay *= 60;
+        timeOfDay += internalGet(MINUTE);
+        timeOfDay *= 60;
+        timeOfDay += internalGet(SECOND);
+        timeOfDay *= 1000;
+        timeOfDay += internalGet(MILLISECOND);
+
+        // Convert the time of day to the number of days and the
+        // millisecond offset from midnight.
+        long fixedDate = timeOfDay / ONE_DAY;
+        timeOfDay %= ONE_DAY;
+        while (timeOfDay < 0) {
+            timeOfDay += ONE_DAY;
+            --fixedDate;
+        }
+
+        // Calculate the epoch day. If none of the date fields has been
+        // set or cleared since the last field calculation, the date is
+        // still the cached one, e.g., after set(MINUTE, ...), unless
+        // the time of day moves it across the Gregorian change.
+        // Otherwise the calendar system is determined by the year; the
+        // Julian and Gregorian interpretations are compared only
+        // around the cutover.
+        if (cachedEpochDay != Long.MIN_VALUE
+            && (DATE_FIELDS_MASK & ~getComputedFields()) == 0
+            && (cachedEpochDay >= gregorianCutoverDay) == (cachedEpochDay + fixedDate >= gregorianCutoverDay)) {
+            fixedDate += cachedEpochDay;
+        } else {
+            // The days carried over from the time of day are added
+            // before the calendar system is determined, so that the
+            // resulting date, not the date fields, decides it.
+            long gfd, jfd;
+            if (year > gregorianCutoverYear && year > gregorianCutoverYearJulian) {
+                gfd = fixedDate + getEpochDay(year, fieldMask, false);
+                jfd = (gfd >= gregorianCutoverDay) ? gfd : fixedDate + getEpochDay(year, fieldMask, true);
+            } else if (year < gregorianCutoverYear && year < gregorianCutoverYearJulian) {
+                gfd = jfd = fixedDate + getEpochDay(year, fieldMask, true);
+            } else {
+                gfd = fixedDate + getEpochDay(year, fieldMask, false);
+                jfd = fixedDate + getEpochDay(year, fieldMask, true);
+            }
+            if (gfd >= gregorianCutoverDay) {
+                if (jfd >= gregorianCutoverDay) {
+                    fixedDate = gfd;
+                } else {
+                    // The date is in an "overlapping" period. Take the
+                    // calendar system of the last field calculation.
+                    fixedDate = (cachedEpochDay != Long.MIN_VALUE
+                                 && cachedEpochDay < gregorianCutoverDay) ? jfd : gfd;
+                }
+            } else if (jfd < gregorianCutoverDay) {
+                fixedDate = jfd;
+            } else {
+                // The date is in a "missing" period.
+                if (!lenient) {
+                    throw new IllegalArgumentException("the specified date doesn't exist");
+                }
+                // Take the Julian date for compatibility, which
+                // will produce a Gregorian date.
+                fixedDate = jfd;
+            }
+        }
+
+        // millis represents local wall-clock time in milliseconds.
+        long millis = fixedDate * ONE_DAY + timeOfDay;
+
+        // Compute the time zone offset and DST offset.  There are two potential
+        // ambiguities here.  We'll assume a 2:00 am (wall time) switchover time
+        // for discussion purposes here.
+        // 1. The transition into DST.  Here, a designated time of 2:00 am - 2:59 am
+        //    can be in standard or in DST depending.  However, 2:00 am is an invalid
+        //    representation (the representation jumps from 1:59:59 am Std to 3:00:00 am DST).
+        //    We assume standard time.
+        // 2. The transition out of DST.  Here, a designated time of 1:00 am - 1:59 am
+        //    can be in standard or DST.  Both are valid representations (the rep
+        //    jumps from 1:59:59 DST to 1:00:00 Std).
+        //    Again, we assume standard time.
+        // We use the TimeZone object, unless the user has explicitly set the ZONE_OFFSET
+        // or DST_OFFSET fields; then we use those fields.
+        TimeZone zone = getZone();
+        int rawOffset = 0;
+        int dstOffset = 0;
+        int tzMask = fieldMask & (ZONE_OFFSET_MASK|DST_OFFSET_MASK);
+        if (tzMask != (ZONE_OFFSET_MASK|DST_OFFSET_MASK)) {
+            if (zone instanceof ZoneInfo || zone instanceof TransitionTimeZone) {
+                // These zones find the offsets of the wall-clock time
+                // from their transitions in local time, which resolves a
+                // time in a gap forward.
+                if (zoneOffsets == null) {
+                    zoneOffsets = new int[2];
+                }
+                if (zone instanceof ZoneInfo) {
+                    ((ZoneInfo)zone).getOffsetsByWall(millis, zoneOffsets);
+                } else {
+                    ((TransitionTimeZone)zone).getOffsetsByWall(millis, zoneOffsets);
+                }
+            } else {
+                int gmtOffset = isFieldSet(fieldMask, ZONE_OFFSET) ?
+                                    internalGet(ZONE_OFFSET) : zone.getRawOffset();
+                getZoneOffsets(zone, millis - gmtOffset);
+            }
+            rawOffset = zoneOffsets[0];
+            dstOffset = zoneOffsets[1];
+        }
+        if (tzMask != 0) {
+            if (isFieldSet(tzMask, ZONE_OFFSET)) {
+                rawOffset = internalGet(ZONE_OFFSET);
+            }
+            if (isFieldSet(tzMask, DST_OFFSET)) {
+                dstOffset = internalGet(DST_OFFSET);
+            }
+        }
+
+        // Adjust the time zone offset values to get the UTC time.
+        return millis - (rawOffset + dstOffset);
+    }
+
+    /**
+     * Computes the time value of the current calendar field values
+     * in lenient mode without cloning or normalizing this calendar.
+     */
+    @Override
+    long getLenientMillis() {
+        return computeMillis(selectFields(), true);
+    }
+
+    /**
+     * Computes the epoch day from the date fields selected by
+     * <code>fieldMask</code> in the Gregorian or the Julian calendar.
+     *
+     * @param year the normalized year number, with 0 indicating the
+     * year 1 BCE, -1 indicating 2 BCE, etc.
+     * @param fieldMask the calendar fields to be used for the date calculation
+     * @param julian true to interpret the fields in the Julian calendar
+     * @return the epoch day
+     * @see Calendar#selectFields
+     */
+    private long getEpochDay(int year, int fieldMask, boolean julian) {
+        int month = JANUARY;
+        if (isFieldSet(fieldMask, MONTH)) {
+            // No need to check if MONTH has been set (no isSet(MONTH)
+            // call) since its unset value happens to be JANUARY (0).
+            month = internalGet(MONTH);
+
+            // If the month is out of range, adjust it into range
+            if (month > DECEMBER || month < JANUARY) {
+                year += (int) floorDivide(month, 12);
+                month = (int) floorMod(month, 12);
+            }
+        }
+
+        long fixedDate;
+        if (isFieldSet(fieldMask, MONTH)) {
+            // Get the epoch day of the first day of the month.
+            fixedDate = julian ? julianEpochDay(year, month, 1)
+                               : gregorianEpochDay(year, month, 1);
+
+            // Month-based calculations
+            if (isFieldSet(fieldMask, DAY_OF_MONTH)) {
+                // We are on the first day of the month. Just add the
+                // offset if DAY_OF_MONTH is set. If the isSet call
+                // returns false, that means DAY_OF_MONTH has been
+                // selected just for disambiguation.
+                if (isSet(DAY_OF_MONTH)) {
+                    // To avoid underflow with DAY_OF_MONTH-1, add
+                    // DAY_OF_MONTH, then subtract 1.
+                    fixedDate += internalGet(DAY_OF_MONTH);
+                    fixedDate--;
+                }
+            } else {
+                if (isFieldSet(fieldMask, WEEK_OF_MONTH)) {
+                    long firstDayOfWeek = getDayOfWeekDateOnOrBefore(fixedDate + 6,
+                                                                     getFirstDayOfWeek());
+                    // If we have enough days in the first week, then
+                    // move to the previous week.
+                    if ((firstDayOfWeek - fixedDate) >= getMinimalDaysInFirstWeek()) {
+                        firstDayOfWeek -= 7;
+                    }
+                    if (isFieldSet(fieldMask, DAY_OF_WEEK)) {
+                        firstDayOfWeek = getDayOfWeekDateOnOrBefore(firstDayOfWeek + 6,
+                                                                    internalGet(DAY_OF_WEEK));
+                    }
+                    // In lenient mode, we treat days of the previous
+                    // months as a part of the specified
+                    // WEEK_OF_MONTH. See 4633646.
+                    fixedDate = firstDayOfWeek + 7 * (internalGet(WEEK_OF_MONTH) - 1);
+                } else {
+                    int dayOfWeek;
+                    if (isFieldSet(fieldMask, DAY_OF_WEEK)) {
+                        dayOfWeek = internalGet(DAY_OF_WEEK);
+                    } else {
+                        dayOfWeek = getFirstDayOfWeek();
+                    }
+                    // We are basing this on the day-of-week-in-month.  The only
+                    // trickiness occurs if the day-of-week-in-month is
+                    // negative.
+                    int dowim;
+                    if (isFieldSet(fieldMask, DAY_OF_WEEK_IN_MONTH)) {
+                        dowim = internalGet(DAY_OF_WEEK_IN_MONTH);
+                    } else {
+                        dowim = 1;
+                    }
+                    if (dowim >= 0) {
+                        fixedDate = getDayOfWeekDateOnOrBefore(fixedDate + (7 * dowim) - 1,
+                                                               dayOfWeek);
+                    } else {
+                        // Go to the first day of the next week of
+                        // the specified week boundary.
+                        int lastDate = monthLength(month, year, julian) + (7 * (dowim + 1));
+                        // Then, get the day of week date on or before the last date.
+                        fixedDate = getDayOfWeekDateOnOrBefore(fixedDate + lastDate - 1,
+                                                               dayOfWeek);
+                    }
+                }
+            }
+        } else {
+            // The day-of-year based calculations count the days from
+            // January 1 in the calendar system in effect on that day,
+            // which makes the cutover year shorter than other years.
+            // The Julian interpretation always counts from the Julian
+            // January 1.
+            fixedDate = julian ? julianEpochDay(year, JANUARY, 1) : getEpochDayOfJan1(year);
+
+            // We are on the first day of the year.
+            if (isFieldSet(fieldMask, DAY_OF_YEAR)) {
+                // Add the offset, then subtract 1. (Make sure to avoid underflow.)
+                fixedDate += internalGet(DAY_OF_YEAR);
+                fixedDate--;
+            } else {
+                long firstDayOfWeek = getDayOfWeekDateOnOrBefore(fixedDate + 6,
+                                                                 getFirstDayOfWeek());
+                // If we have enough days in the first week, then move
+                // to the previous week.
+                if ((firstDayOfWeek - fixedDate) >= getMinimalDaysInFirstWeek()) {
+                    firstDayOfWeek -= 7;
+                }
+                if (isFieldSet(fieldMask, DAY_OF_WEEK)) {
+                    int dayOfWeek = internalGet(DAY_OF_WEEK);
+                    if (dayOfWeek != getFirstDayOfWeek()) {
+                        firstDayOfWeek = getDayOfWeekDateOnOrBefore(firstDayOfWeek + 6,
+                                                                    dayOfWeek);
+                    }
+                }
+                fixedDate = firstDayOfWeek + 7 * ((long)internalGet(WEEK_OF_YEAR) - 1);
+            }
+        }
+
+        return fixedDate;
+    }
+
+    /**
+     * Returns the epoch day of January 1 of the given normalized year
+     * in the calendar system in effect on that day, or the Gregorian
+     * change if it skipped January 1.
+     */
+    private long getEpochDayOfJan1(int year) {
+        long jan1 = gregorianEpochDay(year, JANUARY, 1);
+        if (jan1 >= gregorianCutoverDay) {
+            return jan1;
+        }
+        jan1 = julianEpochDay(year, JANUARY, 1);
+        return jan1 < gregorianCutoverDay ? jan1 : gregorianCutoverDay;
+    }
+
+    /**
+     * Returns the epoch day of the first day of the month of the given
+     * date. In the month of the Gregorian change, the first day is the
+     * first day of the month in the Julian calendar, or the first
+     * Gregorian day if the Julian month is skipped entirely.
+     */
+    private long getEpochDayOfMonth1(long epochDay, int year, int month, int dayOfMonth) {
+        return getEpochDayOfMonth1(epochDay, year, month, dayOfMonth, gregorianCutoverDay);
+    }
+
+    /**
+     * Returns the epoch day of the first day of the month of the given
+     * date with the Gregorian change on <code>cutoverDay</code>.
+     *
+     * @param epochDay the epoch day of the date
+     * @param year the normalized year of the date
+     * @param month the 0-based month of the date
+     * @param dayOfMonth the day of month of the date
+     * @param cutoverDay the epoch day of the first Gregorian day
+     */
+    static long getEpochDayOfMonth1(long epochDay, int year, int month, int dayOfMonth, long cutoverDay) {
+        long month1 = epochDay - dayOfMonth + 1;
+        if (month1 >= cutoverDay || epochDay < cutoverDay) {
+            return month1;
+        }
+        // The month of the Gregorian change starts in the Julian calendar.
+        long julianMonth1 = julianEpochDay(year, month, 1);
+        if (julianMonth1 < cutoverDay && cutoverDay <= julianMonth1 + monthLength(month, year, true)) {
+            return julianMonth1;
+        }
+        return cutoverDay;
+    }
+
+    /**
+     * Stores the normalized year, the 0-based month and the day of month
+     * of the given epoch day in <code>dst</code>, at the
+     * <code>YEAR</code>, <code>MONTH</code> and
+     * <code>DAY_OF_MONTH</code> indices, taking the Gregorian change
+     * of this calendar into account.
+     */
+    private void decodeEpochDay(long epochDay, int[] dst) {
+        if (epochDay >= gregorianCutoverDay) {
+            decodeGregorianEpochDay(epochDay, dst);
+        } else {
+            decodeJulianEpochDay(epochDay, dst);
+        }
+    }
+
+    /**
+     * Returns the normalized year of the given epoch day.
+     */
+    private int yearFromEpochDay(long epochDay) {
+        if (epochDay >= gregorianCutoverDay) {
+            return (int) gregorianYearFromEpochDay(epochDay);
+        }
+        return (int) julianYearFromEpochDay(epochDay);
+    }
+
+    /**
+     * Sets the ERA, YEAR, MONTH and DAY_OF_MONTH fields to the date
+     * of the given epoch day.
+     */
+    private void setDateFields(long epochDay) {
+        int[] date = new int[DAY_OF_MONTH + 1];
+        decodeEpochDay(epochDay, date);
+        int y = date[YEAR];
+        if (y > 0) {
+            set(ERA, CE);
+            set(YEAR, y);
+        } else {
+            set(ERA, BCE);
+            set(YEAR, 1 - y);
+        }
+        set(MONTH, date[MONTH]);
+        set(DAY_OF_MONTH, date[DAY_OF_MONTH]);
+    }
+
+    /**
+     * Sets the MONTH and DAY_OF_MONTH fields to the date of the given
+     * epoch day, keeping the year unchanged.
+     */
+    private void setMonthAndDayOfMonth(long epochDay) {
+        int[] date = new int[DAY_OF_MONTH + 1];
+        decodeEpochDay(epochDay, date);
+        set(MONTH, date[MONTH]);
+        set(DAY_OF_MONTH, date[DAY_OF_MONTH]);
+    }
+
+    /**
+     * Returns the epoch day of the current time value in the time
+     * zone of this calendar.
+     */
+    private long getCurrentEpochDay() {
+        long epochDay = floorDivide(time, ONE_DAY);
+        long timeOfDay = (time - epochDay * ONE_DAY) + internalGet(ZONE_OFFSET) + internalGet(DST_OFFSET);
+        return epochDay + floorDivide(timeOfDay, ONE_DAY);
+    }
+
+    /**
+     * Returns the normalized year (0 for 1 BCE, -1 for 2 BCE, etc.)
+     * of the current fields.
+     */
+    private int internalGetNormalizedYear() {
+        int year = internalGet(YEAR);
+        return internalGetEra() == CE ? year : 1 - year;
+    }
+
+    /**
+     * Returns the length of the specified month in the year provided
+     * by internalGet(YEAR).
+     *
+     * @see #isLeapYear(int)
+     */
+    private int monthLength(int month) {
+        int year = internalGetNormalizedYear();
+        if (year < gregorianCutoverYear) {
+            return monthLength(month, year, true);
+        }
+        return monthLength(month, year, false);
+    }
+
+    /**
+     * After adjustments such as add(MONTH), add(YEAR), we don't want the
+     * month to jump around.  E.g., we don't want Jan 31 + 1 month to go to Mar
+     * 3, we want it to go to Feb 28.  Adjustments which might run into this
+     * problem call this method to retain the proper month.
+     */
+    private void pinDayOfMonth() {
+        int monthLen = monthLength(internalGet(MONTH));
+        int dom = internalGet(DAY_OF_MONTH);
+        if (dom > monthLen) {
+            set(DAY_OF_MONTH, monthLen);
+        }
+    }
+
+    /**
+     * Returns the new value after 'roll'ing the specified value and amount.
+     */
+    private static int getRolledValue(int value, int amount, int min, int max) {
+        assert value >= min && value <= max;
+        int range = max - min + 1;
+        amount %= range;
+        int n = value + amount;
+        if (n > max) {
+            n -= range;
+        } else if (n < min) {
+            n += range;
+        }
+        assert n >= min && n <= max;
+        return n;
+    }
+
+    /**
+     * Returns the ERA.  We need a special method for this because the
+     * default ERA is CE, but a zero (unset) ERA is BCE.
+     */
+    private int internalGetEra() {
+        return isSet(ERA) ? internalGet(ERA) : CE;
+    }
+
+    /**
+     * Updates internal state.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        setGregorianChange(gregorianCutover);
+    }
+
+///////////////////////////
+// Epoch-day arithmetic
+///////////////////////////
+
+    /**
+     * Returns the length of the given 0-based month in the given
+     * normalized year of the Gregorian or the Julian calendar.
+     */
+    static int monthLength(int month, long year, boolean julian) {
+        if (month == FEBRUARY) {
+            boolean leap = julian ? (year & 3) == 0 : isGregorianLeapYear(year);
+            return leap ? 29 : 28;
+        }
+        return MONTH_LENGTH[month];
+    }
+
+    /**
+     * Returns true if the given normalized year is a leap year in the
+     * proleptic Gregorian calendar.
+     */
+    static boolean isGregorianLeapYear(long year) {
+        return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+    }
+
+    /**
+     * Returns the day of week of the given epoch day, from
+     * <code>SUNDAY</code> to <code>SATURDAY</code>. The Epoch was
+     * a Thursday.
+     */
+    static int dayOfWeek(long epochDay) {
+        return (int) floorMod(epochDay + 4, 7) + SUNDAY;
+    }
+
+    /**
+     * Returns the epoch day of the day of week <code>dayOfWeek</code>
+     * on or before <code>epochDay</code>.
+     */
+    static long getDayOfWeekDateOnOrBefore(long epochDay, int dayOfWeek) {
+        return epochDay - floorMod(epochDay + 4 - (dayOfWeek - SUNDAY), 7);
+    }
+
+    /**
+     * Returns the epoch day of the given date in the proleptic
+     * Gregorian calendar. <code>dayOfMonth</code> may be out of range.
+     *
+     * @param year the normalized year
+     * @param month the 0-based month, from JANUARY to DECEMBER
+     * @param dayOfMonth the day of month
+     */
+    static long gregorianEpochDay(long year, int month, int dayOfMonth) {
+        if (year >= TABLE_FIRST_YEAR && year <= TABLE_LAST_YEAR) {
+            int index = (int) year - TABLE_FIRST_YEAR;
+            return YEAR_START_DAYS[index] + monthStartDays(index)[month] + (dayOfMonth - 1L);
+        }
+        return computeGregorianEpochDay(year, month, dayOfMonth);
+    }
+
+    /**
+     * Computes the epoch day of the given date in the proleptic
+     * Gregorian calendar without <code>YEAR_START_DAYS</code>.
+     */
+    private static long computeGregorianEpochDay(long year, int month, int dayOfMonth) {
+        long m = month + 1;
+        long total = 365 * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += ((367 * m - 362) / 12);
+        total += dayOfMonth - 1;
+        if (m > 2) {
+            total--;
+            if (!isGregorianLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns the normalized year of the given epoch day in the
+     * proleptic Gregorian calendar.
+     */
+    static long gregorianYearFromEpochDay(long epochDay) {
+        if (epochDay >= YEAR_START_DAYS[0] && epochDay < YEAR_START_DAYS[YEAR_START_DAYS.length - 1]) {
+            return TABLE_FIRST_YEAR + yearStartIndex((int) epochDay);
+        }
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // find the march-based year
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        // March-based year: the months from January belong to the next year.
+        int marchMonth0 = ((int) doyEst * 5 + 2) / 153;
+        return yearEst + adjust + marchMonth0 / 10;
+    }
+
+    /**
+     * Stores the normalized year, the 0-based month and the day of
+     * month of the given epoch day in the proleptic Gregorian
+     * calendar in <code>dst</code>.
+     */
+    static void decodeGregorianEpochDay(long epochDay, int[] dst) {
+        if (epochDay >= YEAR_START_DAYS[0] && epochDay < YEAR_START_DAYS[YEAR_START_DAYS.length - 1]) {
+            int index = yearStartIndex((int) epochDay);
+            int dayOfYear = (int) epochDay - YEAR_START_DAYS[index];
+            int[] monthStart = monthStartDays(index);
+            // The months are 28 to 31 days long, so this is the month
+            // or the one before.
+            int month = dayOfYear >> 5;
+            if (dayOfYear >= monthStart[month + 1]) {
+                month++;
+            }
+            dst[YEAR] = TABLE_FIRST_YEAR + index;
+            dst[MONTH] = month;
+            dst[DAY_OF_MONTH] = dayOfYear - monthStart[month] + 1;
+            return;
+        }
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // find the march-based year
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;  // reset any negative year
+        int marchDoy0 = (int) doyEst;
+
+        // convert march-based values back to january-based
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+
+        dst[YEAR] = (int) yearEst;
+        dst[MONTH] = month;
+        dst[DAY_OF_MONTH] = dom;
+    }
+
+    /**
+     * Returns the index in <code>YEAR_START_DAYS</code> of the year
+     * containing the given epoch day, which must be in the range of
+     * the table.
+     */
+    private static int yearStartIndex(int epochDay) {
+        // Dividing by 365 overestimates by at most one year.
+        int index = (epochDay - YEAR_START_DAYS[0]) / 365;
+        if (epochDay < YEAR_START_DAYS[index]) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the month start days of the year at the given index in
+     * <code>YEAR_START_DAYS</code>.
+     */
+    private static int[] monthStartDays(int index) {
+        return YEAR_START_DAYS[index + 1] - YEAR_START_DAYS[index] == 366
+            ? LEAP_MONTH_START_DAYS : MONTH_START_DAYS;
+    }
+
+    /**
+     * Returns the epoch day of the given date in the proleptic Julian
+     * calendar. <code>dayOfMonth</code> may be out of range.
+     *
+     * @param year the normalized year
+     * @param month the 0-based month, from JANUARY to DECEMBER
+     * @param dayOfMonth the day of month
+     */
+    static long julianEpochDay(long year, int month, int dayOfMonth) {
+        int m = month + 1;
+        long days = 365 * (year - 1) + floorDivide(year - 1, 4)
+            + (367 * m - 362) / 12 + dayOfMonth;
+        if (m > 2) {
+            days -= ((year & 3) == 0) ? 1 : 2;
+        }
+        return days - JULIAN_DAYS_TO_1970;
+    }
+
+    /**
+     * Returns the normalized year of the given epoch day in the
+     * proleptic Julian calendar.
+     */
+    static long julianYearFromEpochDay(long epochDay) {
+        return floorDivide(4 * (epochDay + JULIAN_DAYS_TO_1970 - 1) + 1464, 1461);
+    }
+
+    /**
+     * Stores the normalized year, the 0-based month and the day of
+     * month of the given epoch day in the proleptic Julian calendar
+     * in <code>dst</code>.
+     */
+    static void decodeJulianEpochDay(long epochDay, int[] dst) {
+        long year = julianYearFromEpochDay(epochDay);
+        int priorDays = (int)(epochDay - julianEpochDay(year, JANUARY, 1));
+        if (epochDay >= julianEpochDay(year, MARCH, 1)) {
+            priorDays += ((year & 3) == 0) ? 1 : 2;
+        }
+        int month = (12 * priorDays + 373) / 367;
+        dst[YEAR] = (int) year;
+        dst[MONTH] = month - 1;
+        dst[DAY_OF_MONTH] = (int)(epochDay - julianEpochDay(year, month - 1, 1)) + 1;
+    }
+
+    static long floorDivide(long n, long d) {
+        return (n >= 0) ? (n / d) : (((n + 1L) / d) - 1L);
+    }
 
+    static long floorMod(long n, long d) {
+        return n - floorDivide(n, d) * d;
+    }
 }
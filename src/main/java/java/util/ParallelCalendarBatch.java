@@ -0,0 +1,104 @@
+package java.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts large arrays of time values to calendar field columns in
+ * parallel, splitting them across a <code>ForkJoinPool</code> into
+ * contiguous chunks converted by {@link CalendarBatch}.
+ *
+ * <p>Each chunk is converted with a clone of the time zone, so that the
+ * workers don't share the last-hit transition of a
+ * <code>TransitionTimeZone</code>. As the chunks are contiguous, the
+ * values of a chunk of sorted input cover a short period of time, and
+ * the transition found for the first value of the chunk serves the
+ * following ones.
+ *
+ * <p>This class uses <code>java.util.concurrent</code> and is available
+ * on the JVM only.
+ *
+ * @see CalendarBatch
+ */
+public final class ParallelCalendarBatch {
+
+    /**
+     * The minimum number of values converted by a task, below which the
+     * cost of the task outweighs the parallelism.
+     */
+    private static final int MIN_CHUNK = 1 << 13;
+
+    /**
+     * The number of chunks per worker, to balance the load when some
+     * workers are slower than others.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private ParallelCalendarBatch() {
+    }
+
+    /**
+     * Computes the calendar fields of all the given time values in the
+     * common pool.
+     *
+     * @see CalendarBatch#computeFields(long[], TimeZone, int, int[][])
+     */
+    public static void computeFields(long[] millis, TimeZone zone, int fieldMask, int[][] columns) {
+        computeFields(ForkJoinPool.commonPool(), millis, 0, millis.length, zone, fieldMask, columns);
+    }
+
+    /**
+     * Computes the calendar fields of the time values from
+     * <code>fromIndex</code>, inclusive, to <code>toIndex</code>,
+     * exclusive, in the given pool.
+     *
+     * @param pool the pool running the conversion
+     * @see CalendarBatch#computeFields(long[], int, int, TimeZone, int, int[][])
+     */
+    public static void computeFields(ForkJoinPool pool, long[] millis, int fromIndex, int toIndex,
+                                     TimeZone zone, int fieldMask, int[][] columns) {
+        CalendarBatch.checkArguments(millis, fromIndex, toIndex, fieldMask, columns);
+        int chunk = Math.max(MIN_CHUNK, (toIndex - fromIndex) / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        pool.invoke(new ConvertTask(millis, fromIndex, toIndex, chunk, zone, fieldMask, columns));
+    }
+
+    private static final class ConvertTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] millis;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int chunk;
+        private final TimeZone zone;
+        private final int fieldMask;
+        private final int[][] columns;
+
+        ConvertTask(long[] millis, int fromIndex, int toIndex, int chunk,
+                    TimeZone zone, int fieldMask, int[][] columns) {
+            this.millis = millis;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.chunk = chunk;
+            this.zone = zone;
+            this.fieldMask = fieldMask;
+            this.columns = columns;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex <= chunk) {
+                // the arguments were checked once for all the chunks
+                CalendarBatch.computeFieldsUnchecked(millis, fromIndex, toIndex, (TimeZone) zone.clone(),
+                                                     fieldMask, columns);
+                return;
+            }
+            // Splits at a multiple of the chunk size, so that the chunks
+            // don't depend on the order in which the tasks are split.
+            int chunks = (toIndex - fromIndex + chunk - 1) / chunk;
+            int middle = fromIndex + chunks / 2 * chunk;
+            invokeAll(new ConvertTask(millis, fromIndex, middle, chunk, zone, fieldMask, columns),
+                      new ConvertTask(millis, middle, toIndex, chunk, zone, fieldMask, columns));
+        }
+    }
+}
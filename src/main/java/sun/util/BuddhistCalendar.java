@@ -184,6 +184,35 @@ public class BuddhistCalendar extends GregorianCalendar {
         }
     }
 
+    /**
+     * Returns the week year in the Buddhist calendar.
+     * @return the week year of this calendar
+     */
+    @Override
+    public int getWeekYear() {
+        return super.getWeekYear() + yearOffset;
+    }
+
+    /**
+     * Sets the date of this calendar to the given week date.
+     * @param weekYear the week year in the Buddhist calendar
+     * @param weekOfYear the week number based on <code>weekYear</code>
+     * @param dayOfWeek the day of week value
+     */
+    @Override
+    public void setWeekDate(int weekYear, int weekOfYear, int dayOfWeek)
+    {
+        int savedYearOffset = yearOffset;
+        // To let the superclass calculate date-time values correctly,
+        // temporarily make this GregorianCalendar.
+        yearOffset = 0;
+        try {
+            super.setWeekDate(weekYear - savedYearOffset, weekOfYear, dayOfWeek);
+        } finally {
+            yearOffset = savedYearOffset;
+        }
+    }
+
     @Override
     public String getDisplayName(int field, int style, Locale locale) {
         if (field != ERA) {
@@ -0,0 +1,372 @@
+package sun.util;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Objects;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+/**
+ * A <code>TimeZone</code> backed by a precompiled table of the offset
+ * transitions of a zone, such as the ones of the tz database.
+ *
+ * <p>The table holds the UTC times at which the offsets of the zone
+ * change, in ascending order, and the raw and DST offsets in effect from
+ * each of them. The offsets of a time are found by a binary search over
+ * the transitions. Calendars mostly look up times close to each other,
+ * so the index of the last hit is kept and tried, together with the
+ * following transition, before searching. Computing the
+ * <code>ZONE_OFFSET</code> and <code>DST_OFFSET</code> fields then takes
+ * constant time for consecutive lookups in the same or the next period.
+ *
+ * <p>From the last transition on, the offsets are computed by an
+ * optional <code>SimpleTimeZone</code> holding the zone's current DST
+ * rule, as done by the JDK's <code>ZoneInfo</code>.
+ *
+ * <p>Instances are safe to share between threads: the table is never
+ * modified, and the last-hit index is validated on each lookup.
+ */
+public class TransitionTimeZone extends TimeZone {
+
+    private static final long serialVersionUID = 2463189706712384318L;
+
+    private static final int ONE_DAY = 24 * 60 * 60 * 1000;
+
+    /**
+     * The UTC times of the transitions in milliseconds, in ascending
+     * order. The first element is <code>Long.MIN_VALUE</code>, so that the
+     * first offsets apply to all times before the first real transition.
+     */
+    private final long[] transitions;
+
+    /**
+     * The raw offsets in milliseconds in effect from the transition with
+     * the same index.
+     */
+    private final int[] rawOffsets;
+
+    /**
+     * The DST offsets in milliseconds in effect from the transition with
+     * the same index.
+     */
+    private final int[] dstOffsets;
+
+    /**
+     * The current raw offset of the zone.
+     */
+    private final int rawOffset;
+
+    /**
+     * The rule computing the offsets from the last transition on, or null
+     * if the last offsets apply forever.
+     */
+    private final SimpleTimeZone lastRule;
+
+    /**
+     * The difference between the raw offset given by {@link #setRawOffset}
+     * and the one of the zone.
+     */
+    private int rawOffsetDiff;
+
+    /**
+     * True once {@link #setRawOffset} has been called.
+     */
+    private boolean dirty;
+
+    /**
+     * The index of the transition found by the last lookup. It is written
+     * without synchronization, hence only ever used as a hint.
+     */
+    private transient int lastIndex;
+
+    /**
+     * Constructs a <code>TransitionTimeZone</code> from a transition table.
+     * The arrays are not copied and must not be modified afterwards.
+     *
+     * @param id the ID of the zone
+     * @param rawOffset the current raw offset of the zone
+     * @param transitions the UTC times of the transitions, in ascending
+     * order and starting with <code>Long.MIN_VALUE</code>
+     * @param rawOffsets the raw offsets in effect from each transition
+     * @param dstOffsets the DST offsets in effect from each transition
+     * @param lastRule the rule in effect from the last transition on,
+     * or null
+     * @throws IllegalArgumentException if the table is empty, or the
+     * array lengths differ
+     */
+    public TransitionTimeZone(String id, int rawOffset, long[] transitions, int[] rawOffsets,
+                              int[] dstOffsets, SimpleTimeZone lastRule) {
+        if (transitions.length == 0 || transitions[0] != Long.MIN_VALUE
+            || rawOffsets.length != transitions.length || dstOffsets.length != transitions.length) {
+            throw new IllegalArgumentException("invalid transition table for " + id);
+        }
+        setID(Objects.requireNonNull(id));
+        this.rawOffset = rawOffset;
+        this.transitions = transitions;
+        this.rawOffsets = rawOffsets;
+        this.dstOffsets = dstOffsets;
+        this.lastRule = lastRule;
+    }
+
+    /**
+     * Finds the transition in effect at the given UTC time.
+     */
+    private int transitionIndex(long utc) {
+        long[] trans = transitions;
+        int last = trans.length - 1;
+        int index = lastIndex;
+        if (index < last && utc >= trans[index]) {
+            if (utc < trans[index + 1]) {
+                return index;
+            }
+            // the next period is the most likely one after a miss
+            if (index + 1 == last || utc < trans[index + 2]) {
+                return lastIndex = index + 1;
+            }
+        } else if (index == last && utc >= trans[last]) {
+            return index;
+        }
+        index = Arrays.binarySearch(trans, utc);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return lastIndex = index;
+    }
+
+    /**
+     * Computes the raw and DST offsets of the given UTC time.
+     *
+     * @param utc the time in UTC milliseconds from the epoch
+     * @param offsets an array of at least 2 elements receiving the raw
+     * offset at index 0 and the DST offset at index 1, or null
+     * @return the total offset of the time
+     */
+    public int getOffsets(long utc, int[] offsets) {
+        int index = transitionIndex(utc);
+        int raw;
+        int dst;
+        if (index == transitions.length - 1 && lastRule != null) {
+            raw = lastRule.getRawOffset();
+            dst = lastRule.getOffset(utc) - raw;
+        } else {
+            raw = rawOffsets[index];
+            dst = dstOffsets[index];
+        }
+        raw += rawOffsetDiff;
+        if (offsets != null) {
+            offsets[0] = raw;
+            offsets[1] = dst;
+        }
+        return raw + dst;
+    }
+
+    /**
+     * Finds the transition in effect at the given wall-clock time, the
+     * wall-clock time of a transition being its UTC time plus the total
+     * offset in effect from it.
+     */
+    private int wallTransitionIndex(long wall) {
+        long[] trans = transitions;
+        int last = trans.length - 1;
+        int index = lastIndex;
+        if (index <= last && (index == 0 || wallTime(index) <= wall)
+            && (index == last || wall < wallTime(index + 1))) {
+            return index;
+        }
+        int low = 1;
+        int high = last;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (wallTime(mid) <= wall) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return lastIndex = low - 1;
+    }
+
+    /**
+     * Returns the wall-clock time of the transition with the given index,
+     * which must be greater than 0.
+     */
+    private long wallTime(int index) {
+        return transitions[index] + rawOffsets[index] + dstOffsets[index];
+    }
+
+    /**
+     * Computes the raw and DST offsets of the given wall-clock time, as
+     * {@code ZoneInfo.getOffsetsByWall} does. A time in a gap gets the
+     * offsets in effect before the gap, and a time in an overlap the
+     * offsets in effect after it.
+     *
+     * @param wall the wall-clock time in milliseconds from the epoch
+     * @param offsets an array of at least 2 elements receiving the raw
+     * offset at index 0 and the DST offset at index 1, or null
+     * @return the total offset of the time
+     */
+    public int getOffsetsByWall(long wall, int[] offsets) {
+        wall -= rawOffsetDiff;
+        int index = wallTransitionIndex(wall);
+        int raw;
+        int dst;
+        if (index == transitions.length - 1 && lastRule != null) {
+            raw = lastRule.getRawOffset();
+            long utc = wall - raw;
+            dst = lastRule.getOffset(utc) - raw;
+            // a time in the gap of a standard-to-daylight transition
+            if (dst > 0 && lastRule.getOffset(utc - dst) == raw) {
+                dst = 0;
+            }
+        } else {
+            raw = rawOffsets[index];
+            dst = dstOffsets[index];
+        }
+        raw += rawOffsetDiff;
+        if (offsets != null) {
+            offsets[0] = raw;
+            offsets[1] = dst;
+        }
+        return raw + dst;
+    }
+
+    @Override
+    public int getOffset(long date) {
+        return getOffsets(date, null);
+    }
+
+    @Override
+    public int getOffset(int era, int year, int month, int day,
+                         int dayOfWeek, int milliseconds) {
+        if (era != GregorianCalendar.AD && era != GregorianCalendar.BC) {
+            throw new IllegalArgumentException("Illegal era " + era);
+        }
+        if (era == GregorianCalendar.BC) {
+            year = 1 - year;
+        }
+        long localMillis = epochDay(year, month + 1, day) * ONE_DAY + milliseconds;
+        return getOffsets(localMillis - getRawOffset(), null);
+    }
+
+    /**
+     * Returns the epoch day of a date in the proleptic Gregorian calendar.
+     */
+    private static long epochDay(long year, int month, int dayOfMonth) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Sets the raw offset of this zone. The difference to the raw offset
+     * of the zone is applied to all transitions.
+     */
+    @Override
+    public void setRawOffset(int offsetMillis) {
+        if (offsetMillis != rawOffset + rawOffsetDiff) {
+            rawOffsetDiff = offsetMillis - rawOffset;
+            dirty = true;
+        }
+    }
+
+    @Override
+    public int getRawOffset() {
+        return rawOffset + rawOffsetDiff;
+    }
+
+    /**
+     * Returns true if the raw offset of this zone has been changed
+     * through {@link #setRawOffset}, in which case the calendar field
+     * values computed with it can't be reused.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public int getDSTSavings() {
+        return lastRule == null ? 0 : lastRule.getDSTSavings();
+    }
+
+    @Override
+    public boolean useDaylightTime() {
+        return lastRule != null;
+    }
+
+    @Override
+    public boolean observesDaylightTime() {
+        if (useDaylightTime()) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        int index = transitionIndex(now);
+        if (dstOffsets[index] != 0) {
+            return true;
+        }
+        for (int i = index + 1; i < transitions.length; i++) {
+            if (dstOffsets[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean inDaylightTime(Date date) {
+        int[] offsets = new int[2];
+        getOffsets(date.getTime(), offsets);
+        return offsets[1] != 0;
+    }
+
+    /**
+     * Returns the rule in effect from the last transition on, or null.
+     */
+    public SimpleTimeZone getLastRule() {
+        return lastRule == null ? null : (SimpleTimeZone) lastRule.clone();
+    }
+
+    @Override
+    public boolean hasSameRules(TimeZone other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TransitionTimeZone)) {
+            return super.hasSameRules(other);
+        }
+        TransitionTimeZone that = (TransitionTimeZone) other;
+        return getRawOffset() == that.getRawOffset()
+            && rawOffsetDiff == that.rawOffsetDiff
+            && Arrays.equals(transitions, that.transitions)
+            && Arrays.equals(rawOffsets, that.rawOffsets)
+            && Arrays.equals(dstOffsets, that.dstOffsets)
+            && Objects.equals(lastRule, that.lastRule);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TransitionTimeZone)) {
+            return false;
+        }
+        TransitionTimeZone that = (TransitionTimeZone) obj;
+        return getID().equals(that.getID()) && hasSameRules(that);
+    }
+
+    @Override
+    public int hashCode() {
+        return getID().hashCode() ^ getRawOffset();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[id=\"" + getID() + "\",offset=" + getRawOffset()
+            + ",dstSavings=" + getDSTSavings() + ",useDaylight=" + useDaylightTime()
+            + ",transitions=" + (transitions.length - 1) + ",lastRule=" + lastRule + "]";
+    }
+}
@@ -0,0 +1,271 @@
+package sun.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides the zones of the tz database bundled as the
+ * <code>sun/util/tzdb.dat</code> resource, in the format written by
+ * <code>tools/TzdbCompiler.java</code>.
+ *
+ * <p>Nothing is read before the first zone is requested. The file is then
+ * memory-mapped if it is a file on disk, either given by the
+ * <code>j4ts.tzdb.path</code> system property or found on an exploded
+ * class path, and only read into memory if it is packed in a jar. A zone
+ * is located by a binary search over the index at the start of the file
+ * and decoded the first time it is requested, so the cost of the first
+ * lookup doesn't depend on the number of zones in the file.
+ *
+ * <p>The file is read on the JVM only; it is not transpiled. For that
+ * reason <code>TimeZone.getTimeZone</code>, which comes from j4ts and
+ * must work in JavaScript too, doesn't look zones up here: this class is
+ * the entry point, and its zones are passed to the calendars explicitly:
+ * <pre>
+ *     TimeZone zone = TzdbFile.getTimeZone("Europe/Berlin");
+ *     Calendar calendar = Calendar.getInstance(zone);
+ * </pre>
+ * The returned zones are {@link TransitionTimeZone}s, whose offsets
+ * <code>GregorianCalendar</code> and <code>CalendarBatch</code> look up
+ * without going through the <code>TimeZone</code> API.
+ */
+public final class TzdbFile {
+
+    /**
+     * The system property giving the path of a tz database file to use
+     * instead of the bundled one.
+     */
+    public static final String PATH_PROPERTY = "j4ts.tzdb.path";
+
+    private static final String RESOURCE = "tzdb.dat";
+
+    private static final int MAGIC = 0x4A34545A;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int LONG_TIME = 0x80;
+
+    private static final int ONE_MINUTE = 60 * 1000;
+
+    /**
+     * The decoded zones by ID.
+     */
+    private static final ConcurrentMap<String, TransitionTimeZone> ZONES = new ConcurrentHashMap<>();
+
+    private TzdbFile() {
+    }
+
+    /**
+     * Holds the contents of the file, which are loaded on first use.
+     */
+    private static final class Data {
+
+        static final ByteBuffer BUFFER = load();
+
+        static final String VERSION;
+
+        static final int ZONE_COUNT;
+
+        static final int INDEX;
+
+        static {
+            ByteBuffer buffer = BUFFER;
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("unsupported tz database format");
+            }
+            VERSION = readUTF(buffer, 6);
+            int pos = 6 + 2 + (buffer.getShort(6) & 0xffff);
+            ZONE_COUNT = buffer.getInt(pos);
+            INDEX = pos + 4;
+        }
+    }
+
+    /**
+     * Returns the version of the tz database, such as "2023c".
+     *
+     * @return the version of the tz database
+     */
+    public static String getVersion() {
+        return Data.VERSION;
+    }
+
+    /**
+     * Returns the IDs of all zones of the tz database, in ascending order.
+     *
+     * @return the zone IDs
+     */
+    public static String[] getAvailableIDs() {
+        ByteBuffer buffer = Data.BUFFER;
+        String[] ids = new String[Data.ZONE_COUNT];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = readUTF(buffer, buffer.getInt(Data.INDEX + 4 * i));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the zone with the given ID. Each call returns a new copy,
+     * which may be modified by the caller.
+     *
+     * @param id the ID of the zone, such as "Europe/Berlin"
+     * @return the zone, or null if the tz database has no such zone
+     */
+    public static TimeZone getTimeZone(String id) {
+        TransitionTimeZone zone = ZONES.get(id);
+        if (zone == null) {
+            int record = findRecord(id);
+            if (record < 0) {
+                return null;
+            }
+            TransitionTimeZone decoded = decode(Data.BUFFER, record);
+            zone = ZONES.putIfAbsent(id, decoded);
+            if (zone == null) {
+                zone = decoded;
+            }
+        }
+        return (TimeZone) zone.clone();
+    }
+
+    /**
+     * Returns the offset of the record of the zone with the given ID, or -1.
+     */
+    private static int findRecord(String id) {
+        ByteBuffer buffer = Data.BUFFER;
+        int low = 0;
+        int high = Data.ZONE_COUNT - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = buffer.getInt(Data.INDEX + 4 * mid);
+            int cmp = compareId(buffer, record, id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the ASCII zone ID stored at the given position with an ID,
+     * without decoding it.
+     */
+    private static int compareId(ByteBuffer buffer, int pos, String id) {
+        int length = buffer.getShort(pos) & 0xffff;
+        int n = Math.min(length, id.length());
+        for (int i = 0; i < n; i++) {
+            int cmp = (buffer.get(pos + 2 + i) & 0xff) - id.charAt(i);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - id.length();
+    }
+
+    private static TransitionTimeZone decode(ByteBuffer buffer, int pos) {
+        String id = readUTF(buffer, pos);
+        pos += 2 + (buffer.getShort(pos) & 0xffff);
+        int rawOffset = buffer.getInt(pos);
+        pos += 4;
+        int pairCount = buffer.get(pos++) & 0xff;
+        int[] pairs = new int[2 * pairCount];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = buffer.getInt(pos);
+            pos += 4;
+        }
+        int initial = buffer.get(pos++);
+        int count = buffer.getShort(pos) & 0xffff;
+        pos += 2;
+
+        long[] transitions = new long[count + 1];
+        int[] rawOffsets = new int[count + 1];
+        int[] dstOffsets = new int[count + 1];
+        transitions[0] = Long.MIN_VALUE;
+        rawOffsets[0] = pairs[2 * initial];
+        dstOffsets[0] = pairs[2 * initial + 1];
+        for (int i = 1; i <= count; i++) {
+            int pair = buffer.get(pos++) & 0xff;
+            if ((pair & LONG_TIME) != 0) {
+                pair &= ~LONG_TIME;
+                transitions[i] = buffer.getLong(pos) * 1000;
+                pos += 8;
+            } else {
+                transitions[i] = (long) buffer.getInt(pos) * ONE_MINUTE;
+                pos += 4;
+            }
+            rawOffsets[i] = pairs[2 * pair];
+            dstOffsets[i] = pairs[2 * pair + 1];
+        }
+
+        SimpleTimeZone lastRule = null;
+        if (buffer.get(pos++) != 0) {
+            int[] rule = new int[11];
+            for (int i = 0; i < rule.length; i++) {
+                rule[i] = buffer.getInt(pos);
+                pos += 4;
+            }
+            lastRule = new SimpleTimeZone(rawOffset, id,
+                                          rule[0], rule[1], rule[2], rule[3], rule[4],
+                                          rule[5], rule[6], rule[7], rule[8], rule[9], rule[10]);
+        }
+        return new TransitionTimeZone(id, rawOffset, transitions, rawOffsets, dstOffsets, lastRule);
+    }
+
+    /**
+     * Reads a string written by <code>DataOutput.writeUTF</code>. Zone IDs
+     * and versions are ASCII.
+     */
+    private static String readUTF(ByteBuffer buffer, int pos) {
+        byte[] bytes = new byte[buffer.getShort(pos) & 0xffff];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(pos + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static ByteBuffer load() {
+        try {
+            String path = System.getProperty(PATH_PROPERTY);
+            if (path != null) {
+                return map(Paths.get(path));
+            }
+            URL url = TzdbFile.class.getResource(RESOURCE);
+            if (url == null) {
+                throw new IllegalStateException("missing resource " + RESOURCE);
+            }
+            if ("file".equals(url.getProtocol())) {
+                return map(Paths.get(url.toURI()));
+            }
+            try (InputStream in = url.openStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(128 * 1024);
+                byte[] chunk = new byte[8192];
+                for (int n; (n = in.read(chunk)) > 0; ) {
+                    out.write(chunk, 0, n);
+                }
+                return ByteBuffer.wrap(out.toByteArray());
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("cannot read the tz database", e);
+        }
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
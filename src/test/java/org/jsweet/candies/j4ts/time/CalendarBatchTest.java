@@ -0,0 +1,181 @@
+package org.jsweet.candies.j4ts.time;
+
+import static java.util.Calendar.*;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.CalendarBatch;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.ParallelCalendarBatch;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import sun.util.TzdbFile;
+
+/**
+ * Checks that <code>CalendarBatch</code> computes the fields a
+ * <code>GregorianCalendar</code> does.
+ */
+public class CalendarBatchTest {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * All the supported fields.
+     */
+    private static final int FIELDS = ((1 << FIELD_COUNT) - 1) & ~((1 << WEEK_OF_YEAR) | (1 << WEEK_OF_MONTH));
+
+    private static long[] randomMillis(Random random, int count, long min, long max) {
+        long[] millis = new long[count];
+        for (int i = 0; i < count; i++) {
+            millis[i] = min + (long) (random.nextDouble() * (max - min));
+        }
+        return millis;
+    }
+
+    private static int[][] columns(int length) {
+        int[][] columns = new int[FIELD_COUNT][];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if ((FIELDS & (1 << field)) != 0) {
+                columns[field] = new int[length];
+            }
+        }
+        return columns;
+    }
+
+    private static void assertColumns(long[] millis, TimeZone zone, int[][] columns) {
+        GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+        for (int i = 0; i < millis.length; i++) {
+            calendar.setTimeInMillis(millis[i]);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (columns[field] != null) {
+                    assertEquals(zone.getID() + " " + millis[i] + " field " + field,
+                                 calendar.get(field), columns[field][i]);
+                }
+            }
+        }
+    }
+
+    private static void assertBatch(long[] millis, TimeZone zone) {
+        int[][] columns = columns(millis.length);
+        CalendarBatch.computeFields(millis, zone, FIELDS, columns);
+        assertColumns(millis, zone, columns);
+    }
+
+    @Test
+    public void randomTimes() {
+        Random random = new Random(1);
+        // across the Gregorian change and the year 0
+        long min = LocalDate.of(-1000, 1, 1).toEpochDay() * ONE_DAY;
+        long max = LocalDate.of(3000, 1, 1).toEpochDay() * ONE_DAY;
+        long[] millis = randomMillis(random, 20000, min, max);
+        for (String id : new String[] {"UTC", "America/New_York", "Australia/Lord_Howe"}) {
+            assertBatch(millis, TimeZone.getTimeZone(id));
+        }
+        assertBatch(millis, TzdbFile.getTimeZone("Europe/Paris"));
+    }
+
+    @Test
+    public void sortedTimes() {
+        Random random = new Random(2);
+        long min = LocalDate.of(1950, 1, 1).toEpochDay() * ONE_DAY;
+        long max = LocalDate.of(2050, 1, 1).toEpochDay() * ONE_DAY;
+        long[] millis = randomMillis(random, 20000, min, max);
+        Arrays.sort(millis);
+        assertBatch(millis, TimeZone.getTimeZone("America/New_York"));
+        assertBatch(millis, TzdbFile.getTimeZone("America/New_York"));
+        assertBatch(millis, TzdbFile.getTimeZone("Australia/Lord_Howe"));
+    }
+
+    @Test
+    public void extremeTimes() {
+        // consecutive values on the same day too
+        long[] millis = {
+            Long.MIN_VALUE, Long.MIN_VALUE + 1000, Long.MIN_VALUE + ONE_DAY, -1, 0,
+            Long.MAX_VALUE - ONE_DAY, Long.MAX_VALUE - 1000, Long.MAX_VALUE
+        };
+        for (String id : new String[] {"UTC", "Europe/Berlin", "America/New_York"}) {
+            assertBatch(millis, TimeZone.getTimeZone(id));
+        }
+        assertBatch(millis, TzdbFile.getTimeZone("Europe/Berlin"));
+
+        int[][] columns = columns(millis.length);
+        CalendarBatch.computeFields(millis, TimeZone.getTimeZone("Europe/Berlin"), FIELDS, columns);
+        assertEquals(GregorianCalendar.BC, columns[ERA][0]);
+        assertEquals(292269055, columns[YEAR][0]);
+        assertEquals(GregorianCalendar.AD, columns[ERA][millis.length - 1]);
+        assertEquals(292278994, columns[YEAR][millis.length - 1]);
+    }
+
+    @Test
+    public void subrangeAndSomeFields() {
+        long[] millis = randomMillis(new Random(3), 100, 0, 4000000000000L);
+        int fields = (1 << YEAR) | (1 << DAY_OF_WEEK_IN_MONTH) | (1 << DST_OFFSET);
+        int[][] columns = new int[FIELD_COUNT][];
+        columns[YEAR] = new int[100];
+        columns[DAY_OF_WEEK_IN_MONTH] = new int[100];
+        columns[DST_OFFSET] = new int[100];
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        CalendarBatch.computeFields(millis, 10, 90, zone, fields, columns);
+        GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+        for (int i = 0; i < 100; i++) {
+            calendar.setTimeInMillis(millis[i]);
+            boolean computed = i >= 10 && i < 90;
+            assertEquals(computed ? calendar.get(YEAR) : 0, columns[YEAR][i]);
+            assertEquals(computed ? calendar.get(DAY_OF_WEEK_IN_MONTH) : 0, columns[DAY_OF_WEEK_IN_MONTH][i]);
+            assertEquals(computed ? calendar.get(DST_OFFSET) : 0, columns[DST_OFFSET][i]);
+        }
+    }
+
+    @Test
+    public void parallelMatchesSequential() {
+        long[] millis = randomMillis(new Random(4), 100000, -4000000000000L, 4000000000000L);
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        int[][] expected = columns(millis.length);
+        int[][] actual = columns(millis.length);
+        CalendarBatch.computeFields(millis, zone, FIELDS, expected);
+        ParallelCalendarBatch.computeFields(millis, zone, FIELDS, actual);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (expected[field] != null) {
+                assertEquals("field " + field, Arrays.toString(expected[field]), Arrays.toString(actual[field]));
+            }
+        }
+    }
+
+    @Test
+    public void datesMatchJavaTime() {
+        Random random = new Random(5);
+        int[] epochDays = new int[10000];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = random.nextInt(2000000) - 1000000;
+        }
+        epochDays[0] = Integer.MIN_VALUE;
+        epochDays[1] = Integer.MAX_VALUE;
+        int[] years = new int[epochDays.length];
+        int[] months = new int[epochDays.length];
+        int[] daysOfMonth = new int[epochDays.length];
+        CalendarBatch.computeDates(epochDays, 0, epochDays.length, years, months, daysOfMonth);
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            assertEquals(date.toString(), date.getYear(), years[i]);
+            assertEquals(date.toString(), date.getMonthValue() - 1, months[i]);
+            assertEquals(date.toString(), date.getDayOfMonth(), daysOfMonth[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWeekFields() {
+        long[] millis = {0};
+        CalendarBatch.computeFields(millis, TimeZone.getTimeZone("UTC"), 1 << WEEK_OF_YEAR, new int[FIELD_COUNT][1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortColumns() {
+        long[] millis = {0, 1};
+        CalendarBatch.computeFields(millis, TimeZone.getTimeZone("UTC"), 1 << YEAR, new int[FIELD_COUNT][1]);
+    }
+}
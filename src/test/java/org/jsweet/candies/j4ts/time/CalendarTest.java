@@ -0,0 +1,129 @@
+package org.jsweet.candies.j4ts.time;
+
+import static java.util.Calendar.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * Checks the <code>Calendar</code> API and caches added next to the
+ * JDK's.
+ */
+public class CalendarTest {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static Calendar date(int year, int month, int dayOfMonth) {
+        Calendar calendar = new GregorianCalendar(UTC, Locale.US);
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar;
+    }
+
+    @Test
+    public void stepperMatchesAdd() {
+        Calendar calendar = date(2024, JANUARY, 31);
+        long end = LocalDate.of(2026, 1, 1).toEpochDay() * ONE_DAY;
+        String before = calendar.toString();
+        PrimitiveIterator.OfLong months = calendar.stepper(MONTH, 1, end);
+        // the receiver isn't completed by the stepper
+        assertEquals(before, calendar.toString());
+
+        Calendar expected = (Calendar) calendar.clone();
+        int count = 0;
+        while (months.hasNext()) {
+            assertEquals(expected.getTimeInMillis(), months.nextLong());
+            expected.add(MONTH, 1);
+            count++;
+        }
+        assertEquals(24, count);
+        assertTrue(expected.getTimeInMillis() >= end);
+    }
+
+    @Test
+    public void stepperByFixedDelta() {
+        Calendar calendar = date(2024, MARCH, 10);
+        PrimitiveIterator.OfLong hours = calendar.stepper(HOUR_OF_DAY, -5, calendar.getTimeInMillis() - ONE_DAY);
+        long start = calendar.getTimeInMillis();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(hours.hasNext());
+            assertEquals(start - i * 5 * 3600000L, hours.nextLong());
+        }
+        assertFalse(hours.hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepperRejectsZeroAmount() {
+        date(2024, JANUARY, 1).stepper(DAY_OF_MONTH, 0, 0);
+    }
+
+    @Test
+    public void displayNamesAreCopies() {
+        Calendar calendar = date(2024, JANUARY, 1);
+        Map<String, Integer> names = calendar.getDisplayNames(MONTH, LONG, Locale.US);
+        assertEquals(12, names.size());
+        assertEquals(Integer.valueOf(MARCH), names.get("March"));
+        names.remove("March");
+        names.put("Marchember", 13);
+
+        Map<String, Integer> again = calendar.getDisplayNames(MONTH, LONG, Locale.US);
+        assertNotSame(names, again);
+        assertEquals(Integer.valueOf(MARCH), again.get("March"));
+        assertFalse(again.containsKey("Marchember"));
+        assertEquals("Jan", calendar.getDisplayName(MONTH, SHORT, Locale.US));
+    }
+
+    @Test
+    public void borrowedCalendarsAreReset() {
+        Calendar calendar = Calendar.borrow(UTC, Locale.US);
+        calendar.setLenient(false);
+        calendar.setFirstDayOfWeek(MONDAY);
+        calendar.set(2000, JANUARY, 1);
+        Calendar.release(calendar);
+
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        Calendar borrowed = Calendar.borrow(zone, Locale.US);
+        assertSame(calendar, borrowed);
+        assertTrue(borrowed.isLenient());
+        assertEquals(SUNDAY, borrowed.getFirstDayOfWeek());
+        assertEquals(zone.getID(), borrowed.getTimeZone().getID());
+        assertTrue(borrowed.get(YEAR) > 2000);
+        Calendar.release(borrowed);
+    }
+
+    @Test
+    public void comparesWithoutTimeSet() {
+        Calendar first = date(2024, FEBRUARY, 29);
+        Calendar second = date(2024, MARCH, 1);
+        String before = first.toString();
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(first.before(second));
+        assertFalse(first.equals(second));
+        assertEquals(first.hashCode(), date(2024, FEBRUARY, 29).hashCode());
+        assertEquals(before, first.toString());
+    }
+
+    @Test
+    public void weekDataIsCached() {
+        new GregorianCalendar(UTC, Locale.FRANCE);
+        long misses = Calendar.getWeekDataCacheMisses();
+        Calendar calendar = new GregorianCalendar(UTC, Locale.FRANCE);
+        assertEquals(misses, Calendar.getWeekDataCacheMisses());
+        assertEquals(MONDAY, calendar.getFirstDayOfWeek());
+        assertEquals(4, calendar.getMinimalDaysInFirstWeek());
+    }
+}
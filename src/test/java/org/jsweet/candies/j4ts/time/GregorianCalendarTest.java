@@ -0,0 +1,458 @@
+package org.jsweet.candies.j4ts.time;
+
+import static java.util.Calendar.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.IsoFields;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * Checks the fields, arithmetic and maxima of <code>GregorianCalendar</code>
+ * against <code>java.time</code>, and its behavior around the Gregorian
+ * change and DST transitions against values of the JDK's implementation.
+ */
+public class GregorianCalendarTest {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * The range of the random times, after the Gregorian change and the
+     * local mean times of the zones, which <code>ZoneInfo</code> doesn't
+     * support, and far enough from them for the arithmetic tests.
+     */
+    private static final long MIN_MILLIS = LocalDate.of(1900, 1, 1).toEpochDay() * ONE_DAY;
+
+    private static final long MAX_MILLIS = LocalDate.of(2400, 1, 1).toEpochDay() * ONE_DAY;
+
+    private static final String[] ZONES = {
+        "UTC", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata"
+    };
+
+    private static final WeekFields US_WEEKS = WeekFields.of(DayOfWeek.SUNDAY, 1);
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    private static GregorianCalendar calendar(TimeZone zone, long millis) {
+        GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    private static GregorianCalendar calendar(TimeZone zone, int year, int month, int dayOfMonth,
+                                              int hourOfDay, int minute) {
+        GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth, hourOfDay, minute);
+        calendar.getTimeInMillis();
+        return calendar;
+    }
+
+    private static long randomMillis(Random random) {
+        return MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+    }
+
+    private static ZonedDateTime utc(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(ZoneId.of("UTC"));
+    }
+
+    private static void assertDate(String message, ZonedDateTime expected, GregorianCalendar calendar) {
+        assertEquals(message, expected.getYear(), calendar.get(YEAR));
+        assertEquals(message, expected.getMonthValue() - 1, calendar.get(MONTH));
+        assertEquals(message, expected.getDayOfMonth(), calendar.get(DAY_OF_MONTH));
+        assertEquals(message, expected.toLocalTime().toNanoOfDay() / 1000000,
+                     calendar.get(HOUR_OF_DAY) * 3600000L + calendar.get(MINUTE) * 60000L
+                     + calendar.get(SECOND) * 1000L + calendar.get(MILLISECOND));
+    }
+
+    @Test
+    public void fieldsMatchJavaTime() {
+        Random random = new Random(1);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            for (int i = 0; i < 5000; i++) {
+                long millis = randomMillis(random);
+                GregorianCalendar calendar = calendar(zone, millis);
+                ZonedDateTime expected = Instant.ofEpochMilli(millis).atZone(zoneId);
+                String message = id + " " + millis;
+                int standardOffset = zoneId.getRules().getStandardOffset(expected.toInstant())
+                    .getTotalSeconds() * 1000;
+                int offset = expected.getOffset().getTotalSeconds() * 1000;
+
+                assertEquals(message, GregorianCalendar.AD, calendar.get(ERA));
+                assertDate(message, expected, calendar);
+                assertEquals(message, expected.getDayOfYear(), calendar.get(DAY_OF_YEAR));
+                assertEquals(message, expected.getDayOfWeek().getValue() % 7 + 1, calendar.get(DAY_OF_WEEK));
+                assertEquals(message, (expected.getDayOfMonth() - 1) / 7 + 1, calendar.get(DAY_OF_WEEK_IN_MONTH));
+                assertEquals(message, expected.get(US_WEEKS.weekOfWeekBasedYear()), calendar.get(WEEK_OF_YEAR));
+                assertEquals(message, expected.get(US_WEEKS.weekOfMonth()), calendar.get(WEEK_OF_MONTH));
+                assertEquals(message, expected.get(US_WEEKS.weekBasedYear()), calendar.getWeekYear());
+                assertEquals(message, expected.getHour() / 12, calendar.get(AM_PM));
+                assertEquals(message, expected.getHour() % 12, calendar.get(HOUR));
+                assertEquals(message, standardOffset, calendar.get(ZONE_OFFSET));
+                assertEquals(message, offset - standardOffset, calendar.get(DST_OFFSET));
+            }
+        }
+    }
+
+    @Test
+    public void setFieldsMatchJavaTime() {
+        Random random = new Random(2);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            for (int i = 0; i < 5000; i++) {
+                ZonedDateTime expected = Instant.ofEpochMilli(randomMillis(random)).atZone(zoneId);
+                GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+                calendar.clear();
+                calendar.set(expected.getYear(), expected.getMonthValue() - 1, expected.getDayOfMonth(),
+                             expected.getHour(), expected.getMinute(), expected.getSecond());
+                calendar.set(MILLISECOND, expected.get(ChronoField.MILLI_OF_SECOND));
+                // the later offset of an overlap is the standard one
+                assertEquals(id + " " + expected, expected.withLaterOffsetAtOverlap().toInstant().toEpochMilli(),
+                             calendar.getTimeInMillis());
+            }
+        }
+    }
+
+    @Test
+    public void addMatchesJavaTime() {
+        Random random = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            long millis = randomMillis(random);
+            ZonedDateTime start = utc(millis);
+            int amount = random.nextInt(2001) - 1000;
+            GregorianCalendar calendar = calendar(UTC, millis);
+            ZonedDateTime expected;
+            int field;
+            switch (i % 6) {
+            case 0:
+                field = YEAR;
+                amount /= 10;
+                expected = start.plusYears(amount);
+                break;
+            case 1:
+                field = MONTH;
+                expected = start.plusMonths(amount);
+                break;
+            case 2:
+                field = WEEK_OF_YEAR;
+                expected = start.plusWeeks(amount);
+                break;
+            case 3:
+                field = DAY_OF_MONTH;
+                expected = start.plusDays(amount);
+                break;
+            case 4:
+                field = HOUR_OF_DAY;
+                expected = start.plusHours(amount);
+                break;
+            default:
+                field = MINUTE;
+                expected = start.plusMinutes(amount * 1000L);
+                amount *= 1000;
+                break;
+            }
+            calendar.add(field, amount);
+            assertDate(start + " add(" + field + ", " + amount + ")", expected, calendar);
+        }
+    }
+
+    @Test
+    public void rollMatchesJavaTime() {
+        Random random = new Random(4);
+        for (int i = 0; i < 20000; i++) {
+            long millis = randomMillis(random);
+            ZonedDateTime start = utc(millis);
+            int amount = random.nextInt(201) - 100;
+            if (amount % 24 == 0) {
+                // rolling the hour to itself moves it by one, as in the JDK
+                amount++;
+            }
+            GregorianCalendar calendar = calendar(UTC, millis);
+            ZonedDateTime expected;
+            int field;
+            switch (i % 6) {
+            case 0:
+                field = YEAR;
+                // February 29 isn't pinned, but moves to March 1
+                expected = start.withDayOfMonth(1).plusYears(amount).plusDays(start.getDayOfMonth() - 1);
+                break;
+            case 1:
+                field = MONTH;
+                expected = start.plusMonths(Math.floorMod(start.getMonthValue() - 1 + amount, 12)
+                                            - (start.getMonthValue() - 1));
+                break;
+            case 2:
+                field = DAY_OF_MONTH;
+                expected = start.withDayOfMonth(Math.floorMod(start.getDayOfMonth() - 1 + amount,
+                                                              start.toLocalDate().lengthOfMonth()) + 1);
+                break;
+            case 3:
+                field = DAY_OF_YEAR;
+                expected = start.withDayOfYear(Math.floorMod(start.getDayOfYear() - 1 + amount,
+                                                             start.toLocalDate().lengthOfYear()) + 1);
+                break;
+            case 4:
+                field = HOUR_OF_DAY;
+                expected = start.withHour(Math.floorMod(start.getHour() + amount, 24));
+                break;
+            default:
+                field = MINUTE;
+                expected = start.withMinute(Math.floorMod(start.getMinute() + amount, 60));
+                break;
+            }
+            calendar.roll(field, amount);
+            assertDate(start + " roll(" + field + ", " + amount + ")", expected, calendar);
+        }
+    }
+
+    @Test
+    public void actualMaximumsMatchJavaTime() {
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            long millis = randomMillis(random);
+            LocalDate date = utc(millis).toLocalDate();
+            GregorianCalendar calendar = calendar(UTC, millis);
+            String message = date.toString();
+            int monthLength = date.lengthOfMonth();
+
+            assertEquals(message, monthLength, calendar.getActualMaximum(DAY_OF_MONTH));
+            assertEquals(message, date.lengthOfYear(), calendar.getActualMaximum(DAY_OF_YEAR));
+            // the occurrences of the day of week of the date
+            assertEquals(message, (monthLength - (date.getDayOfMonth() - 1) % 7 - 1) / 7 + 1,
+                         calendar.getActualMaximum(DAY_OF_WEEK_IN_MONTH));
+            assertEquals(message, date.range(US_WEEKS.weekOfMonth()).getMaximum(),
+                         calendar.getActualMaximum(WEEK_OF_MONTH));
+            // the weeks of the calendar year, which is the week year of July 1
+            assertEquals(message, date.withMonth(7).withDayOfMonth(1).range(US_WEEKS.weekOfWeekBasedYear()).getMaximum(),
+                         calendar.getActualMaximum(WEEK_OF_YEAR));
+            assertEquals(message, DECEMBER, calendar.getActualMaximum(MONTH));
+            assertEquals(message, 1, calendar.getActualMinimum(DAY_OF_MONTH));
+            assertEquals(message, millis, calendar.getTimeInMillis());
+        }
+    }
+
+    @Test
+    public void limits() {
+        GregorianCalendar calendar = calendar(UTC, 2024, JANUARY, 1, 0, 0);
+        assertEquals(292278994, calendar.getActualMaximum(YEAR));
+        assertEquals(28, calendar.getLeastMaximum(DAY_OF_MONTH));
+        assertEquals(50, calendar.getLeastMaximum(WEEK_OF_YEAR));
+        assertEquals(355, calendar.getLeastMaximum(DAY_OF_YEAR));
+        assertEquals(31, calendar.getMaximum(DAY_OF_MONTH));
+        assertEquals(366, calendar.getMaximum(DAY_OF_YEAR));
+    }
+
+    @Test
+    public void isoWeekDatesMatchJavaTime() {
+        Random random = new Random(6);
+        for (int i = 0; i < 5000; i++) {
+            long millis = randomMillis(random);
+            LocalDate date = utc(millis).toLocalDate();
+            GregorianCalendar calendar = new GregorianCalendar(UTC, Locale.US);
+            calendar.setFirstDayOfWeek(MONDAY);
+            calendar.setMinimalDaysInFirstWeek(4);
+            calendar.setTimeInMillis(millis);
+            String message = date.toString();
+            int weekYear = date.get(IsoFields.WEEK_BASED_YEAR);
+            int week = date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+
+            assertEquals(message, weekYear, calendar.getWeekYear());
+            assertEquals(message, week, calendar.get(WEEK_OF_YEAR));
+            assertEquals(message, date.range(IsoFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum(),
+                         calendar.getWeeksInWeekYear());
+
+            calendar.clear();
+            calendar.setWeekDate(weekYear, week, date.getDayOfWeek().getValue() % 7 + 1);
+            assertEquals(message, date.toEpochDay() * ONE_DAY, calendar.getTimeInMillis());
+        }
+    }
+
+    @Test
+    public void invalidWeekDateLeavesCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(UTC, Locale.US);
+        calendar.setLenient(false);
+        calendar.clear();
+        calendar.set(2024, MARCH, 10);
+        long millis = calendar.getTimeInMillis();
+        // a week out of the week year, and a year out of the range
+        int[][] weekDates = {{2024, 60, MONDAY}, {2024, 0, MONDAY}, {300000000, 1, MONDAY}};
+        for (int[] weekDate : weekDates) {
+            try {
+                calendar.setWeekDate(weekDate[0], weekDate[1], weekDate[2]);
+                fail(Arrays.toString(weekDate));
+            } catch (IllegalArgumentException e) {
+                assertEquals(millis, calendar.getTimeInMillis());
+                assertEquals(MARCH, calendar.get(MONTH));
+            }
+        }
+
+        // an invalid time of day fails without changing the date
+        calendar.set(HOUR_OF_DAY, 24);
+        try {
+            calendar.setWeekDate(2024, 1, MONDAY);
+            fail();
+        } catch (IllegalArgumentException e) {
+            calendar.setLenient(true);
+            assertEquals(millis + ONE_DAY, calendar.getTimeInMillis());
+        }
+    }
+
+    @Test
+    public void gregorianChange() {
+        GregorianCalendar calendar = calendar(UTC, 1582, OCTOBER, 4, 0, 0);
+        assertEquals(277, calendar.get(DAY_OF_YEAR));
+        assertEquals(THURSDAY, calendar.get(DAY_OF_WEEK));
+        calendar.add(DAY_OF_MONTH, 1);
+        assertEquals(15, calendar.get(DAY_OF_MONTH));
+        assertEquals(278, calendar.get(DAY_OF_YEAR));
+        assertEquals(FRIDAY, calendar.get(DAY_OF_WEEK));
+        calendar.roll(DAY_OF_MONTH, -1);
+        assertEquals(4, calendar.get(DAY_OF_MONTH));
+
+        calendar = calendar(UTC, 1582, OCTOBER, 20, 0, 0);
+        assertEquals(31, calendar.getActualMaximum(DAY_OF_MONTH));
+        assertEquals(1, calendar.getActualMinimum(DAY_OF_MONTH));
+        assertEquals(355, calendar.getActualMaximum(DAY_OF_YEAR));
+        assertEquals(50, calendar.getActualMaximum(WEEK_OF_YEAR));
+        assertEquals(3, calendar.getActualMaximum(WEEK_OF_MONTH));
+        assertEquals(3, calendar.getActualMaximum(DAY_OF_WEEK_IN_MONTH));
+
+        calendar = calendar(UTC, 1582, OCTOBER, 31, 0, 0);
+        assertEquals(294, calendar.get(DAY_OF_YEAR));
+        assertEquals(43, calendar.get(WEEK_OF_YEAR));
+        assertEquals(4, calendar.get(WEEK_OF_MONTH));
+        assertEquals(3, calendar.get(DAY_OF_WEEK_IN_MONTH));
+
+        // 1500 is a leap year in the Julian calendar
+        calendar = calendar(UTC, 1500, FEBRUARY, 10, 0, 0);
+        assertEquals(29, calendar.getActualMaximum(DAY_OF_MONTH));
+        assertEquals(366, calendar.getActualMaximum(DAY_OF_YEAR));
+
+        // a day of year before the change counts from the Julian January 1
+        calendar.clear();
+        calendar.set(YEAR, 1583);
+        calendar.set(DAY_OF_YEAR, -529);
+        assertEquals(1581, calendar.get(YEAR));
+        assertEquals(JULY, calendar.get(MONTH));
+        assertEquals(20, calendar.get(DAY_OF_MONTH));
+
+        calendar = calendar(UTC, 1, JANUARY, 1, 0, 0);
+        calendar.add(DAY_OF_MONTH, -1);
+        assertEquals(GregorianCalendar.BC, calendar.get(ERA));
+        assertEquals(1, calendar.get(YEAR));
+        assertEquals(DECEMBER, calendar.get(MONTH));
+        assertEquals(31, calendar.get(DAY_OF_MONTH));
+        assertEquals(366, calendar.get(DAY_OF_YEAR));
+    }
+
+    @Test
+    public void britishGregorianChange() {
+        GregorianCalendar calendar = new GregorianCalendar(UTC, Locale.UK);
+        calendar.setGregorianChange(new Date(LocalDate.of(1752, 9, 14).toEpochDay() * ONE_DAY));
+        calendar.clear();
+        calendar.set(1752, SEPTEMBER, 2);
+        calendar.add(DAY_OF_MONTH, 1);
+        assertEquals(14, calendar.get(DAY_OF_MONTH));
+        assertEquals(247, calendar.get(DAY_OF_YEAR));
+        assertEquals(THURSDAY, calendar.get(DAY_OF_WEEK));
+        assertEquals(30, calendar.getActualMaximum(DAY_OF_MONTH));
+        assertEquals(355, calendar.getActualMaximum(DAY_OF_YEAR));
+
+        calendar.clear();
+        calendar.set(1752, SEPTEMBER, 30);
+        calendar.roll(WEEK_OF_MONTH, 1);
+        assertEquals(16, calendar.get(DAY_OF_MONTH));
+        assertEquals(SATURDAY, calendar.get(DAY_OF_WEEK));
+
+        calendar.clear();
+        calendar.set(1752, SEPTEMBER, 14);
+        calendar.roll(DAY_OF_MONTH, -1);
+        assertEquals(2, calendar.get(DAY_OF_MONTH));
+        assertEquals(WEDNESDAY, calendar.get(DAY_OF_WEEK));
+    }
+
+    @Test
+    public void daylightSavingGap() {
+        // 02:30 doesn't exist on 2024-03-10 and is resolved forward
+        GregorianCalendar calendar = calendar(NEW_YORK, 2024, MARCH, 10, 2, 30);
+        assertEquals(Instant.parse("2024-03-10T07:30:00Z").toEpochMilli(), calendar.getTimeInMillis());
+        assertEquals(3, calendar.get(HOUR_OF_DAY));
+        assertEquals(-5 * 3600000, calendar.get(ZONE_OFFSET));
+        assertEquals(3600000, calendar.get(DST_OFFSET));
+
+        calendar = calendar(NEW_YORK, 2024, MARCH, 10, 1, 30);
+        calendar.add(HOUR_OF_DAY, 1);
+        assertEquals(3, calendar.get(HOUR_OF_DAY));
+        assertEquals(30, calendar.get(MINUTE));
+    }
+
+    @Test
+    public void daylightSavingOverlap() {
+        // 01:30 occurs twice on 2024-11-03 and is resolved to standard time
+        GregorianCalendar calendar = calendar(NEW_YORK, 2024, NOVEMBER, 3, 1, 30);
+        assertEquals(Instant.parse("2024-11-03T06:30:00Z").toEpochMilli(), calendar.getTimeInMillis());
+        assertEquals(0, calendar.get(DST_OFFSET));
+
+        calendar.setTimeInMillis(Instant.parse("2024-11-03T05:30:00Z").toEpochMilli());
+        assertEquals(1, calendar.get(HOUR_OF_DAY));
+        assertEquals(3600000, calendar.get(DST_OFFSET));
+        calendar.add(HOUR_OF_DAY, 1);
+        assertEquals(1, calendar.get(HOUR_OF_DAY));
+        assertEquals(0, calendar.get(DST_OFFSET));
+    }
+
+    @Test
+    public void historicalRawOffset() {
+        TimeZone lordHowe = TimeZone.getTimeZone("Australia/Lord_Howe");
+        GregorianCalendar calendar = calendar(lordHowe, 1962, JULY, 1, 12, 0);
+        assertEquals(10 * 3600000, calendar.get(ZONE_OFFSET));
+        assertEquals(Instant.parse("1962-07-01T02:00:00Z").toEpochMilli(), calendar.getTimeInMillis());
+        calendar = calendar(lordHowe, 2024, JULY, 1, 12, 0);
+        assertEquals(10 * 3600000 + 1800000, calendar.get(ZONE_OFFSET));
+    }
+
+    @Test
+    public void formatParseRoundTrips() throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat("G yyyy-MM-dd'T'HH:mm:ss.SSSZ EEE MMM", Locale.US);
+        format.setCalendar(new GregorianCalendar(NEW_YORK, Locale.US));
+        SimpleDateFormat weekDate = new SimpleDateFormat("YYYY-'W'ww-u", Locale.US);
+        GregorianCalendar isoCalendar = new GregorianCalendar(UTC, Locale.US);
+        isoCalendar.setFirstDayOfWeek(MONDAY);
+        isoCalendar.setMinimalDaysInFirstWeek(4);
+        weekDate.setCalendar(isoCalendar);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            long millis = randomMillis(random);
+            String text = format.format(new Date(millis));
+            assertEquals(text, millis, format.parse(text).getTime());
+
+            long midnight = Math.floorDiv(millis, ONE_DAY) * ONE_DAY;
+            text = weekDate.format(new Date(midnight));
+            LocalDate date = LocalDate.ofEpochDay(midnight / ONE_DAY);
+            assertEquals(date.toString(), String.format("%04d-W%02d-%d", date.get(IsoFields.WEEK_BASED_YEAR),
+                         date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), date.getDayOfWeek().getValue()), text);
+            assertEquals(text, midnight, weekDate.parse(text).getTime());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.jsweet.candies.j4ts.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the packed <code>LocalDateTime</code> against dates of the JDK's
+ * <code>LocalDate</code>.
+ *
+ * <p>This class replaces the JDK's <code>java.time.LocalDateTime</code>,
+ * so it runs in a JVM of its own, and only the operations that don't
+ * delegate to js-joda are checked.
+ */
+public class LocalDateTimeTest {
+
+    private static final long NANOS_PER_DAY = 24 * 60 * 60 * 1000000000L;
+
+    /**
+     * A date-time given by its date and nano-of-day.
+     */
+    private static final class Expected {
+        final LocalDate date;
+        final long nanoOfDay;
+
+        Expected(LocalDate date, long nanoOfDay) {
+            this.date = date.plusDays(Math.floorDiv(nanoOfDay, NANOS_PER_DAY));
+            this.nanoOfDay = Math.floorMod(nanoOfDay, NANOS_PER_DAY);
+        }
+
+        LocalDateTime toLocalDateTime() {
+            return LocalDateTime.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth(),
+                                    getHour(), getMinute(), getSecond(), getNano());
+        }
+
+        int getHour() {
+            return (int) (nanoOfDay / 3600000000000L);
+        }
+
+        int getMinute() {
+            return (int) (nanoOfDay / 60000000000L % 60);
+        }
+
+        int getSecond() {
+            return (int) (nanoOfDay / 1000000000L % 60);
+        }
+
+        int getNano() {
+            return (int) (nanoOfDay % 1000000000L);
+        }
+
+        /**
+         * Returns the ISO-8601 text output by the JDK's
+         * <code>LocalDateTime.toString()</code>.
+         */
+        String text() {
+            StringBuilder text = new StringBuilder(date.toString()).append('T');
+            text.append(String.format("%02d:%02d", getHour(), getMinute()));
+            if (getSecond() != 0 || getNano() != 0) {
+                text.append(String.format(":%02d", getSecond()));
+                if (getNano() % 1000000 == 0 && getNano() != 0) {
+                    text.append(String.format(".%03d", getNano() / 1000000));
+                } else if (getNano() % 1000 == 0 && getNano() != 0) {
+                    text.append(String.format(".%06d", getNano() / 1000));
+                } else if (getNano() != 0) {
+                    text.append(String.format(".%09d", getNano()));
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Returns a random date-time, in a year of four digits half of the
+     * time, and otherwise in a year that may be signed or have more digits.
+     */
+    private static Expected random(Random random) {
+        switch (random.nextInt(4)) {
+        case 0:
+            return random(random, -99999, 99999);
+        case 1:
+            // far enough from the limits for the arithmetic checks
+            return random(random, -999998999, 999998999);
+        default:
+            return random(random, 0, 9999);
+        }
+    }
+
+    private static Expected random(Random random, int minYear, int maxYear) {
+        long minEpochDay = LocalDate.of(minYear, 1, 1).toEpochDay();
+        long maxEpochDay = LocalDate.of(maxYear, 12, 31).toEpochDay();
+        LocalDate date = LocalDate.ofEpochDay(minEpochDay + (long) (random.nextDouble() * (maxEpochDay - minEpochDay)));
+        long nanoOfDay;
+        switch (random.nextInt(4)) {
+        case 0:
+            nanoOfDay = random.nextInt(24 * 60) * 60000000000L;
+            break;
+        case 1:
+            nanoOfDay = random.nextInt(24 * 60 * 60 * 1000) * 1000000L;
+            break;
+        case 2:
+            nanoOfDay = (long) (random.nextDouble() * (NANOS_PER_DAY / 1000)) * 1000;
+            break;
+        default:
+            nanoOfDay = (long) (random.nextDouble() * NANOS_PER_DAY);
+            break;
+        }
+        return new Expected(date, nanoOfDay);
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        char[] buffer = new char[40];
+        int end = dateTime.formatTo(buffer, 5);
+        return new String(buffer, 5, end - 5);
+    }
+
+    private static void assertDateTime(String message, Expected expected, LocalDateTime actual) {
+        assertEquals(message, expected.date.getYear(), actual.getYear());
+        assertEquals(message, expected.date.getMonthValue(), actual.getMonthValue());
+        assertEquals(message, expected.date.getDayOfMonth(), actual.getDayOfMonth());
+        assertEquals(message, expected.date.getDayOfYear(), actual.getDayOfYear());
+        assertEquals(message, expected.getHour(), actual.getHour());
+        assertEquals(message, expected.getMinute(), actual.getMinute());
+        assertEquals(message, expected.getSecond(), actual.getSecond());
+        assertEquals(message, expected.getNano(), actual.getNano());
+        // the hash code of the JDK's LocalDateTime
+        assertEquals(message, expected.date.hashCode() ^ LocalTime.ofNanoOfDay(expected.nanoOfDay).hashCode(),
+                     actual.hashCode());
+        assertEquals(message, expected.text(), format(actual));
+    }
+
+    @Test
+    public void fields() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            Expected expected = random(random);
+            assertDateTime(expected.text(), expected, expected.toLocalDateTime());
+        }
+    }
+
+    @Test
+    public void plusAndMinus() {
+        Random random = new Random(2);
+        for (int i = 0; i < 20000; i++) {
+            Expected start = random(random);
+            LocalDateTime dateTime = start.toLocalDateTime();
+            int amount = random.nextInt(2001) - 1000;
+            String message = start.text() + " " + amount;
+
+            assertDateTime(message, new Expected(start.date.plusYears(amount / 10), start.nanoOfDay),
+                           dateTime.plusYears(amount / 10));
+            assertDateTime(message, new Expected(start.date.plusMonths(amount), start.nanoOfDay),
+                           dateTime.plusMonths(amount));
+            assertDateTime(message, new Expected(start.date.minusMonths(amount), start.nanoOfDay),
+                           dateTime.minusMonths(amount));
+            assertDateTime(message, new Expected(start.date.plusWeeks(amount), start.nanoOfDay),
+                           dateTime.plusWeeks(amount));
+            assertDateTime(message, new Expected(start.date.plusDays(amount), start.nanoOfDay),
+                           dateTime.plusDays(amount));
+            assertDateTime(message, new Expected(start.date, start.nanoOfDay + amount * 3600000000000L),
+                           dateTime.plusHours(amount));
+            assertDateTime(message, new Expected(start.date, start.nanoOfDay - amount * 60000000000L),
+                           dateTime.minusMinutes(amount));
+            assertDateTime(message, new Expected(start.date, start.nanoOfDay + amount * 987654321000L),
+                           dateTime.plusSeconds(amount * 987L).plusNanos(amount * 654321000L));
+        }
+    }
+
+    @Test
+    public void with() {
+        Random random = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            Expected start = random(random);
+            LocalDateTime dateTime = start.toLocalDateTime();
+            String message = start.text();
+            int dayOfMonth = 1 + random.nextInt(start.date.lengthOfMonth());
+
+            assertDateTime(message, new Expected(start.date.withDayOfMonth(dayOfMonth), start.nanoOfDay),
+                           dateTime.withDayOfMonth(dayOfMonth));
+            assertDateTime(message, new Expected(start.date.withMonth(2), start.nanoOfDay),
+                           dateTime.withMonth(2));
+            assertDateTime(message, new Expected(start.date.withYear(2000), start.nanoOfDay),
+                           dateTime.withYear(2000));
+            assertDateTime(message, new Expected(start.date, start.nanoOfDay % 3600000000000L),
+                           dateTime.withHour(0));
+            assertDateTime(message, new Expected(start.date, start.nanoOfDay - start.getNano()),
+                           dateTime.withNano(0));
+        }
+    }
+
+    @Test
+    public void parseRoundTrips() throws IOException {
+        Random random = new Random(4);
+        for (int i = 0; i < 20000; i++) {
+            Expected expected = random(random);
+            LocalDateTime dateTime = expected.toLocalDateTime();
+            String text = expected.text();
+            StringBuilder appended = new StringBuilder("x");
+            dateTime.formatTo(appended);
+            assertEquals("x" + text, appended.toString());
+
+            int year = expected.date.getYear();
+            if (year < 0 || year > 9999) {
+                // parsed by js-joda
+                continue;
+            }
+            LocalDateTime parsed = LocalDateTime.parse(text);
+            assertTrue(text, dateTime.equals(parsed));
+            assertEquals(text, dateTime.hashCode(), parsed.hashCode());
+            assertEquals(text, 0, dateTime.compareTo(parsed));
+        }
+    }
+
+    @Test
+    public void parseLayouts() {
+        Expected expected = new Expected(LocalDate.of(2024, 2, 29), 23 * 3600000000000L + 59 * 60000000000L);
+        assertDateTime("minutes", expected, LocalDateTime.parse("2024-02-29T23:59"));
+        assertDateTime("seconds", new Expected(expected.date, expected.nanoOfDay + 1000000000L),
+                       LocalDateTime.parse("2024-02-29T23:59:01"));
+        assertDateTime("fraction", new Expected(expected.date, expected.nanoOfDay + 1200000000L),
+                       LocalDateTime.parse("2024-02-29T23:59:01.2"));
+        assertDateTime("nanos", new Expected(expected.date, expected.nanoOfDay + 1000000001L),
+                       LocalDateTime.parse("2024-02-29T23:59:01.000000001"));
+    }
+
+    @Test
+    public void compareTo() {
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            Expected first = random(random);
+            Expected second = random.nextBoolean() ? random(random)
+                : new Expected(first.date, first.nanoOfDay + random.nextInt(3) - 1);
+            int expected = first.date.equals(second.date)
+                ? Long.compare(first.nanoOfDay, second.nanoOfDay) : first.date.compareTo(second.date);
+            LocalDateTime firstDateTime = first.toLocalDateTime();
+            LocalDateTime secondDateTime = second.toLocalDateTime();
+            int actual = firstDateTime.compareTo(secondDateTime);
+            assertEquals(first.text() + " " + second.text(), Integer.signum(expected), Integer.signum(actual));
+            assertEquals(expected == 0, firstDateTime.equals(secondDateTime));
+            assertEquals(expected > 0, firstDateTime.isAfter(secondDateTime));
+            assertEquals(expected < 0, firstDateTime.isBefore(secondDateTime));
+            assertEquals(expected == 0, firstDateTime.isEqual(secondDateTime));
+        }
+        assertFalse(LocalDateTime.of(2024, 1, 1, 0, 0).equals(null));
+    }
+}
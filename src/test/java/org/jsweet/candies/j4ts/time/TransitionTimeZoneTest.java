@@ -0,0 +1,184 @@
+package org.jsweet.candies.j4ts.time;
+
+import static java.util.Calendar.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import sun.util.TransitionTimeZone;
+import sun.util.TzdbFile;
+
+/**
+ * Checks the zones of the bundled tz database against the rules of
+ * <code>java.time</code>, and calendars using them.
+ */
+public class TransitionTimeZoneTest {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    private static final String[] ZONES = {
+        "America/New_York", "Europe/Paris", "Australia/Lord_Howe", "Asia/Kolkata",
+        "America/Sao_Paulo", "Pacific/Apia", "Africa/Casablanca"
+    };
+
+    private static TransitionTimeZone zone(String id) {
+        return (TransitionTimeZone) TzdbFile.getTimeZone(id);
+    }
+
+    @Test
+    public void offsetsMatchJavaTime() {
+        Random random = new Random(1);
+        long min = LocalDate.of(1900, 1, 1).toEpochDay() * ONE_DAY;
+        long max = LocalDate.of(2100, 1, 1).toEpochDay() * ONE_DAY;
+        int[] offsets = new int[2];
+        for (String id : ZONES) {
+            TransitionTimeZone zone = zone(id);
+            ZoneRules rules = ZoneId.of(id).getRules();
+            for (int i = 0; i < 20000; i++) {
+                long millis = min + (long) (random.nextDouble() * (max - min));
+                Instant instant = Instant.ofEpochMilli(millis);
+                int offset = rules.getOffset(instant).getTotalSeconds() * 1000;
+                int standardOffset = rules.getStandardOffset(instant).getTotalSeconds() * 1000;
+                String message = id + " " + instant;
+
+                assertEquals(message, offset, zone.getOffset(millis));
+                assertEquals(message, offset, zone.getOffsets(millis, offsets));
+                assertEquals(message, standardOffset, offsets[0]);
+                assertEquals(message, offset - standardOffset, offsets[1]);
+            }
+        }
+    }
+
+    @Test
+    public void wallOffsetsMatchJavaTime() {
+        int[] offsets = new int[2];
+        for (String id : ZONES) {
+            TransitionTimeZone zone = zone(id);
+            ZoneRules rules = ZoneId.of(id).getRules();
+            // every quarter of an hour around the transitions
+            for (long millis = LocalDate.of(1950, 1, 1).toEpochDay() * ONE_DAY;
+                 millis < LocalDate.of(2040, 1, 1).toEpochDay() * ONE_DAY; ) {
+                ZoneOffsetTransition transition
+                    = rules.nextTransition(Instant.ofEpochMilli(millis));
+                if (transition == null) {
+                    break;
+                }
+                millis = transition.toEpochSecond() * 1000;
+                int before = transition.getOffsetBefore().getTotalSeconds() * 1000;
+                int after = transition.getOffsetAfter().getTotalSeconds() * 1000;
+                for (long wall = millis + before - 7200000; wall < millis + before + 7200000; wall += 900000) {
+                    // a gap is resolved with the offset before it, an
+                    // overlap with the offset after it
+                    int expected = wall < millis + after ? before : after;
+                    assertEquals(id + " " + Instant.ofEpochMilli(wall), expected,
+                                 zone.getOffsetsByWall(wall, offsets));
+                    assertEquals(expected, offsets[0] + offsets[1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void calendarResolvesGapAndOverlap() {
+        TimeZone zone = TzdbFile.getTimeZone("America/New_York");
+        GregorianCalendar calendar = new GregorianCalendar(zone, Locale.US);
+        calendar.clear();
+        calendar.set(2024, MARCH, 10, 2, 30);
+        assertEquals(Instant.parse("2024-03-10T07:30:00Z").toEpochMilli(), calendar.getTimeInMillis());
+        assertEquals(3, calendar.get(HOUR_OF_DAY));
+
+        calendar.clear();
+        calendar.set(2024, NOVEMBER, 3, 1, 30);
+        assertEquals(Instant.parse("2024-11-03T06:30:00Z").toEpochMilli(), calendar.getTimeInMillis());
+
+        // a raw offset other than the current one
+        calendar = new GregorianCalendar(TzdbFile.getTimeZone("Australia/Lord_Howe"), Locale.US);
+        calendar.clear();
+        calendar.set(1962, JULY, 1, 12, 0);
+        assertEquals(Instant.parse("1962-07-01T02:00:00Z").toEpochMilli(), calendar.getTimeInMillis());
+        assertEquals(10 * 3600000, calendar.get(ZONE_OFFSET));
+    }
+
+    @Test
+    public void setRawOffset() {
+        TransitionTimeZone zone = zone("Europe/Paris");
+        assertFalse(zone.isDirty());
+        long millis = Instant.parse("2024-07-01T00:00:00Z").toEpochMilli();
+        assertEquals(7200000, zone.getOffset(millis));
+        zone.setRawOffset(0);
+        assertTrue(zone.isDirty());
+        assertEquals(0, zone.getRawOffset());
+        assertEquals(3600000, zone.getOffset(millis));
+        // the zones returned are copies
+        assertEquals(3600000, TzdbFile.getTimeZone("Europe/Paris").getRawOffset());
+    }
+
+    @Test
+    public void lastRule() {
+        TransitionTimeZone zone = zone("America/New_York");
+        assertTrue(zone.useDaylightTime());
+        assertEquals(3600000, zone.getDSTSavings());
+        SimpleTimeZone rule = zone.getLastRule();
+        assertEquals(-5 * 3600000, rule.getRawOffset());
+        assertTrue(zone.hasSameRules(TzdbFile.getTimeZone("America/New_York")));
+        assertFalse(zone.hasSameRules(TzdbFile.getTimeZone("America/Chicago")));
+        assertFalse(zone("Asia/Kolkata").useDaylightTime());
+    }
+
+    @Test
+    public void unknownZone() {
+        assertNull(TzdbFile.getTimeZone("Mars/Olympus_Mons"));
+    }
+
+    @Test
+    public void tableOffsets() {
+        long[] transitions = {Long.MIN_VALUE, 0, 100 * ONE_DAY};
+        TransitionTimeZone zone = new TransitionTimeZone("Table", 7200000, transitions,
+            new int[] {3600000, 3600000, 7200000}, new int[] {0, 3600000, 0}, null);
+        assertEquals(7200000, zone.getRawOffset());
+        // in no order, so that the last transition found is mostly wrong
+        long[] times = {-1, 100 * ONE_DAY, 0, 100 * ONE_DAY - 1, Long.MIN_VALUE, 200 * ONE_DAY, 50 * ONE_DAY};
+        int[] rawOffsets = {3600000, 7200000, 3600000, 3600000, 3600000, 7200000, 3600000};
+        int[] dstOffsets = {0, 0, 3600000, 3600000, 0, 0, 3600000};
+        int[] offsets = new int[2];
+        for (int i = 0; i < times.length; i++) {
+            String message = Long.toString(times[i]);
+            assertEquals(message, rawOffsets[i] + dstOffsets[i], zone.getOffsets(times[i], offsets));
+            assertEquals(message, rawOffsets[i], offsets[0]);
+            assertEquals(message, dstOffsets[i], offsets[1]);
+            assertEquals(message, rawOffsets[i] + dstOffsets[i], zone.getOffset(times[i]));
+        }
+
+        // the last rule applies from the last transition on
+        SimpleTimeZone rule = new SimpleTimeZone(3600000, "Rule",
+            MARCH, -1, SUNDAY, 3600000, SimpleTimeZone.UTC_TIME,
+            OCTOBER, -1, SUNDAY, 3600000, SimpleTimeZone.UTC_TIME, 3600000);
+        zone = new TransitionTimeZone("Rule", 3600000, Arrays.copyOf(transitions, 2),
+            new int[] {0, 3600000}, new int[] {0, 0}, rule);
+        assertEquals(0, zone.getOffset(-1));
+        assertEquals(3600000, zone.getOffset(Instant.parse("2024-01-15T00:00:00Z").toEpochMilli()));
+        assertEquals(7200000, zone.getOffsets(Instant.parse("2024-07-15T00:00:00Z").toEpochMilli(), offsets));
+        assertEquals(3600000, offsets[0]);
+        assertEquals(3600000, offsets[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidTable() {
+        new TransitionTimeZone("Invalid", 0, new long[] {0}, new int[] {0}, new int[] {0}, null);
+    }
+}
@@ -0,0 +1,302 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SimpleTimeZone;
+import java.util.TreeSet;
+
+/**
+ * Compiles the tz database of the running JDK into the binary resource
+ * read by <code>sun.util.TzdbFile</code>:
+ *
+ * <pre>
+ * java tools/TzdbCompiler.java src/main/resources/sun/util/tzdb.dat
+ * </pre>
+ *
+ * <p>The file is big-endian and starts with a header and an index, so
+ * that a zone can be found without decoding the others:
+ *
+ * <pre>
+ * int    magic "J4TZ"
+ * short  format version (1)
+ * UTF    tz database version
+ * int    number of zones
+ * int[]  file offset of each zone record, sorted by zone ID
+ * </pre>
+ *
+ * Each zone record holds:
+ *
+ * <pre>
+ * UTF    zone ID
+ * int    raw offset from the last transition on, in milliseconds
+ * byte   number of distinct (raw, DST) offset pairs
+ * int[2] raw and DST offset of each pair, in milliseconds
+ * byte   pair in effect before the first transition
+ * short  number of transitions
+ *        for each transition, a byte with the index of the pair in effect
+ *        from it, followed by the transition time as an int of epoch
+ *        minutes, or, if bit 7 of the byte is set, as a long of epoch
+ *        seconds
+ * byte   1 if a SimpleTimeZone rule applies from the last transition on
+ * int[]  start month, day, day-of-week, time and time mode, end month,
+ *        day, day-of-week, time and time mode, and DST savings of the rule
+ * </pre>
+ *
+ * Transitions are stored up to {@value #RULE_YEAR}, or the last transition
+ * listed by the zone if later, after which the current DST rule of the zone
+ * is used. Rules that can't be expressed as
+ * a SimpleTimeZone, such as negative DST, are expanded up to
+ * {@value #LAST_YEAR} instead.
+ */
+public class TzdbCompiler {
+
+    private static final int MAGIC = 0x4A34545A;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int RULE_YEAR = 2037;
+
+    private static final int LAST_YEAR = 2100;
+
+    private static final int LONG_TIME = 0x80;
+
+    private static final long WEEK = 7 * 24 * 60 * 60;
+
+    /**
+     * A time before all transitions, in epoch seconds.
+     */
+    private static final long FIRST_TIME = Long.MIN_VALUE / 1000 / 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java tools/TzdbCompiler.java <output file>");
+            System.exit(1);
+        }
+        TreeSet<String> ids = new TreeSet<>(ZoneId.getAvailableZoneIds());
+        String version = ZoneRulesProvider.getVersions("UTC").lastKey();
+        List<byte[]> records = new ArrayList<>();
+        for (String id : ids) {
+            records.add(compile(id, ZoneId.of(id).getRules()));
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeUTF(version);
+        out.writeInt(records.size());
+        int offset = out.size() + 4 * records.size();
+        for (byte[] record : records) {
+            out.writeInt(offset);
+            offset += record.length;
+        }
+        try (OutputStream file = new FileOutputStream(args[0])) {
+            header.writeTo(file);
+            for (byte[] record : records) {
+                file.write(record);
+            }
+        }
+        System.out.println(args[0] + ": " + records.size() + " zones, tzdb " + version + ", " + offset + " bytes");
+    }
+
+    private static byte[] compile(String id, ZoneRules rules) throws IOException {
+        int[] lastRule = lastRule(rules);
+        long end = LocalDateTime.of(lastRule == null ? LAST_YEAR : RULE_YEAR, 1, 1, 0, 0)
+                .toEpochSecond(ZoneOffset.UTC);
+        List<ZoneOffsetTransition> history = rules.getTransitions();
+        if (!history.isEmpty()) {
+            // some zones list transitions beyond the rule year
+            end = Math.max(end, history.get(history.size() - 1).toEpochSecond() + 1);
+        }
+
+        // The transitions of the total offset, and the changes of the
+        // standard offset between them.
+        // The zones start with a constant local mean time, so the changes
+        // are searched from the first transition on.
+        List<Long> times = new ArrayList<>();
+        Instant instant = Instant.ofEpochSecond(FIRST_TIME);
+        ZoneOffsetTransition transition;
+        while ((transition = rules.nextTransition(instant)) != null
+               && transition.toEpochSecond() < end) {
+            if (!times.isEmpty()) {
+                addStandardChanges(rules, instant.getEpochSecond(), transition.toEpochSecond(), times);
+            }
+            instant = transition.getInstant();
+            times.add(instant.getEpochSecond());
+        }
+        if (!times.isEmpty()) {
+            addStandardChanges(rules, instant.getEpochSecond(), end, times);
+        }
+
+        List<Long> pairs = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream transitions = new DataOutputStream(bytes);
+        for (long time : times) {
+            int pair = pairIndex(rules, time, pairs);
+            if (time % 60 == 0 && time / 60 == (int) (time / 60)) {
+                transitions.writeByte(pair);
+                transitions.writeInt((int) (time / 60));
+            } else {
+                transitions.writeByte(pair | LONG_TIME);
+                transitions.writeLong(time);
+            }
+        }
+        int initial = pairIndex(rules, FIRST_TIME, pairs);
+        if (pairs.size() >= LONG_TIME) {
+            throw new IllegalStateException(id + ": too many offsets");
+        }
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeUTF(id);
+        out.writeInt(rules.getStandardOffset(Instant.ofEpochSecond(end)).getTotalSeconds() * 1000);
+        out.writeByte(pairs.size());
+        for (long pair : pairs) {
+            out.writeLong(pair);
+        }
+        out.writeByte(initial);
+        out.writeShort(times.size());
+        bytes.writeTo(out);
+        out.writeByte(lastRule == null ? 0 : 1);
+        if (lastRule != null) {
+            for (int value : lastRule) {
+                out.writeInt(value);
+            }
+        }
+        out.flush();
+        return record.toByteArray();
+    }
+
+    /**
+     * Adds the times at which the standard offset changes within the given
+     * period of constant total offset. ZoneRules doesn't expose these
+     * changes, so the period is probed weekly and each change found is
+     * located to the second.
+     */
+    private static void addStandardChanges(ZoneRules rules, long start, long end, List<Long> times) {
+        long low = start;
+        int standard = standardOffset(rules, low);
+        while (low < end - 1) {
+            long high = Math.min(low + WEEK, end - 1);
+            if (standardOffset(rules, high) == standard) {
+                low = high;
+                continue;
+            }
+            while (high - low > 1) {
+                long mid = low + (high - low) / 2;
+                if (standardOffset(rules, mid) == standard) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            times.add(high);
+            low = high;
+            standard = standardOffset(rules, low);
+        }
+    }
+
+    private static int standardOffset(ZoneRules rules, long epochSecond) {
+        return rules.getStandardOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * Returns the index of the (raw, DST) offset pair in effect at the
+     * given time, adding it to the pairs if new. A pair is packed as the
+     * long written to the file, i.e. two ints of milliseconds.
+     */
+    private static int pairIndex(ZoneRules rules, long epochSecond, List<Long> pairs) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        int raw = rules.getStandardOffset(instant).getTotalSeconds() * 1000;
+        int dst = rules.getOffset(instant).getTotalSeconds() * 1000 - raw;
+        long pair = ((long) raw << 32) | (dst & 0xffffffffL);
+        int index = pairs.indexOf(pair);
+        if (index < 0) {
+            index = pairs.size();
+            pairs.add(pair);
+        }
+        return index;
+    }
+
+    /**
+     * Converts the current DST rules of a zone into the parameters of a
+     * SimpleTimeZone, or returns null if the zone has no such rules or
+     * they can't be expressed as a SimpleTimeZone.
+     */
+    private static int[] lastRule(ZoneRules rules) {
+        List<ZoneOffsetTransitionRule> transitionRules = rules.getTransitionRules();
+        if (transitionRules.size() != 2) {
+            return null;
+        }
+        // the rules are in calendar order, i.e. the end of DST comes first
+        // on the southern hemisphere
+        ZoneOffsetTransitionRule start = transitionRules.get(0);
+        ZoneOffsetTransitionRule end = transitionRules.get(1);
+        if (start.getOffsetAfter().getTotalSeconds() < start.getOffsetBefore().getTotalSeconds()) {
+            start = transitionRules.get(1);
+            end = transitionRules.get(0);
+        }
+        int savings = (start.getOffsetAfter().getTotalSeconds()
+                       - start.getStandardOffset().getTotalSeconds()) * 1000;
+        if (savings <= 0 || start.getStandardOffset().getTotalSeconds() != end.getOffsetAfter().getTotalSeconds()) {
+            return null;
+        }
+        int[] values = new int[11];
+        if (!encodeRule(start, values, 0) || !encodeRule(end, values, 5)) {
+            return null;
+        }
+        values[10] = savings;
+        try {
+            new SimpleTimeZone(start.getStandardOffset().getTotalSeconds() * 1000, "",
+                               values[0], values[1], values[2], values[3], values[4],
+                               values[5], values[6], values[7], values[8], values[9], values[10]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return values;
+    }
+
+    private static boolean encodeRule(ZoneOffsetTransitionRule rule, int[] values, int index) {
+        int day = rule.getDayOfMonthIndicator();
+        int dayOfWeek;
+        if (rule.getDayOfWeek() == null) {
+            // the exact day of the month
+            dayOfWeek = 0;
+        } else if (day == -1) {
+            // the last day-of-week of the month
+            dayOfWeek = rule.getDayOfWeek().getValue() % 7 + 1;
+        } else if (day > 0) {
+            // the first day-of-week on or after the day
+            dayOfWeek = -(rule.getDayOfWeek().getValue() % 7 + 1);
+        } else {
+            return false;
+        }
+        values[index] = rule.getMonth().getValue() - 1;
+        values[index + 1] = day;
+        values[index + 2] = dayOfWeek;
+        values[index + 3] = rule.isMidnightEndOfDay() ? 24 * 60 * 60 * 1000
+                : rule.getLocalTime().toSecondOfDay() * 1000;
+        switch (rule.getTimeDefinition()) {
+        case WALL:
+            values[index + 4] = SimpleTimeZone.WALL_TIME;
+            break;
+        case STANDARD:
+            values[index + 4] = SimpleTimeZone.STANDARD_TIME;
+            break;
+        default:
+            values[index + 4] = SimpleTimeZone.UTC_TIME;
+        }
+        return true;
+    }
+}
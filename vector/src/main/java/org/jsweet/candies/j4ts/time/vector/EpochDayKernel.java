@@ -0,0 +1,104 @@
+package org.jsweet.candies.j4ts.time.vector;
+
+/**
+ * Converts blocks of epoch days to year, month and day columns in the
+ * proleptic Gregorian calendar, with the same results as
+ * <code>java.util.CalendarBatch.computeDates</code>.
+ *
+ * <p>The days are converted by {@link VectorEpochDayKernel} when the
+ * <code>jdk.incubator.vector</code> module is present, i.e. when the JVM
+ * runs with <code>--add-modules jdk.incubator.vector</code>, and by the
+ * scalar loop of {@link #computeDatesScalar} otherwise.
+ */
+public final class EpochDayKernel {
+
+    /**
+     * The number of days in 400 years.
+     */
+    static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * The number of days from 0000-03-01 to 1970-01-01.
+     */
+    static final int DAYS_0000_03_01_TO_1970 = 719468;
+
+    /**
+     * True if the vector kernel can be used.
+     */
+    private static final boolean VECTOR = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private EpochDayKernel() {
+    }
+
+    /**
+     * Returns true if the days are converted by the vector kernel.
+     *
+     * @return true if the vector kernel is used
+     */
+    public static boolean isVectorized() {
+        return VECTOR;
+    }
+
+    /**
+     * Computes the dates of the given epoch days.
+     *
+     * @param epochDays the days since 1970-01-01
+     * @param fromIndex the index of the first day
+     * @param toIndex the index after the last day
+     * @param years receives the normalized year of each day, in which
+     * year 0 is 1 BC
+     * @param months receives the 0-based month of each day, from January
+     * to December
+     * @param daysOfMonth receives the day of month of each day
+     * @exception ArrayIndexOutOfBoundsException if the range is out of
+     * the bounds of an array
+     */
+    public static void computeDates(int[] epochDays, int fromIndex, int toIndex,
+                                    int[] years, int[] months, int[] daysOfMonth) {
+        checkRange(epochDays, fromIndex, toIndex, years, months, daysOfMonth);
+        if (VECTOR) {
+            VectorEpochDayKernel.computeDates(epochDays, fromIndex, toIndex, years, months, daysOfMonth);
+        } else {
+            computeDatesScalar(epochDays, fromIndex, toIndex, years, months, daysOfMonth);
+        }
+    }
+
+    /**
+     * Computes the dates of the given epoch days one at a time. This is
+     * the fallback of {@link #computeDates}, and the arithmetic the vector
+     * kernel applies to each lane.
+     *
+     * @see #computeDates
+     */
+    public static void computeDatesScalar(int[] epochDays, int fromIndex, int toIndex,
+                                          int[] years, int[] months, int[] daysOfMonth) {
+        checkRange(epochDays, fromIndex, toIndex, years, months, daysOfMonth);
+        for (int i = fromIndex; i < toIndex; i++) {
+            // Counts the days from 0000-03-01, so that the leap day ends
+            // the year. A century is a quarter of 400 years minus a
+            // fraction of a day, so four times the count plus 3, divided
+            // by the days of 400 years, is the century.
+            long quadrupleDay = 4 * ((long) epochDays[i] + DAYS_0000_03_01_TO_1970) + 3;
+            long century = Math.floorDiv(quadrupleDay, DAYS_PER_CYCLE);
+            // the same for the years of the century and 4 years
+            int quadrupleDayOfCentury = (int) (quadrupleDay - century * DAYS_PER_CYCLE) | 3;
+            int yearOfCentury = quadrupleDayOfCentury / 1461;
+            int dayOfYear = (quadrupleDayOfCentury - yearOfCentury * 1461) >>> 2;
+            // the month from March, 0 to 11
+            int marchMonth = (5 * dayOfYear + 2) / 153;
+            // 1 for January and February, which belong to the next year
+            int nextYear = (marchMonth + 6) >>> 4;
+            years[i] = (int) (100 * century) + yearOfCentury + nextYear;
+            months[i] = marchMonth + 2 - 12 * nextYear;
+            daysOfMonth[i] = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        }
+    }
+
+    private static void checkRange(int[] epochDays, int fromIndex, int toIndex,
+                                   int[] years, int[] months, int[] daysOfMonth) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > epochDays.length
+            || toIndex > years.length || toIndex > months.length || toIndex > daysOfMonth.length) {
+            throw new ArrayIndexOutOfBoundsException("range [" + fromIndex + ", " + toIndex + ")");
+        }
+    }
+}
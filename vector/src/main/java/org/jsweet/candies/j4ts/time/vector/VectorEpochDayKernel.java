@@ -0,0 +1,111 @@
+package org.jsweet.candies.j4ts.time.vector;
+
+import static org.jsweet.candies.j4ts.time.vector.EpochDayKernel.DAYS_0000_03_01_TO_1970;
+import static org.jsweet.candies.j4ts.time.vector.EpochDayKernel.DAYS_PER_CYCLE;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Converts epoch days to dates with the Vector API, one vector of days at
+ * a time, using the arithmetic of
+ * {@link EpochDayKernel#computeDatesScalar} on every lane.
+ *
+ * <p>SIMD units have no integer division. The centuries and the years of
+ * the century are estimated in single precision, and corrected by one if
+ * the remainder is out of range; the other quotients are small enough to
+ * be computed by a multiplication and a shift. These steps are written
+ * out in the loop: C2 stops inlining calls once the loop reaches a node
+ * limit, and boxes the vectors passed to the calls it doesn't inline. To keep the days
+ * non-negative, they are counted from 0000-03-01 minus
+ * {@value #CYCLE_SHIFT} cycles of 400 years, which covers the epoch days
+ * from about 2,000,000 BC to 3,880,000 AD. The vectors holding other
+ * days, and the days after the last full vector, are converted by the
+ * scalar loop.
+ *
+ * <p>This class is only loaded when the <code>jdk.incubator.vector</code>
+ * module is present.
+ */
+final class VectorEpochDayKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * The number of 400-year cycles added to the days.
+     */
+    private static final int CYCLE_SHIFT = 5000;
+
+    /**
+     * The day 0 of the shifted count, as an epoch day.
+     */
+    private static final int OFFSET = DAYS_0000_03_01_TO_1970 + CYCLE_SHIFT * DAYS_PER_CYCLE;
+
+    /**
+     * 2<sup>23</sup>, the smallest float whose unit in the last place is
+     * 1, and its bits.
+     */
+    private static final float ROUNDING = 0x1p23f;
+
+    private static final int ROUNDING_BITS = Float.floatToRawIntBits(ROUNDING);
+
+    private VectorEpochDayKernel() {
+    }
+
+    static void computeDates(int[] epochDays, int fromIndex, int toIndex,
+                             int[] years, int[] months, int[] daysOfMonth) {
+        int length = SPECIES.length();
+        int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        int i = fromIndex;
+        for (; i < upperBound; i += length) {
+            // days out of the shifted range overflow to negative values
+            IntVector zeroDay = IntVector.fromArray(SPECIES, epochDays, i).add(OFFSET);
+            if (zeroDay.lt(0).anyTrue()) {
+                EpochDayKernel.computeDatesScalar(epochDays, i, i + length, years, months, daysOfMonth);
+                continue;
+            }
+            // Four times the day overflows for the last days of the range,
+            // but the remainders are small and computed exactly.
+            IntVector quadrupleDay = zeroDay.lanewise(VectorOperators.LSHL, 2).add(3);
+            IntVector century = correct(quadrupleDay, estimate(zeroDay, 4f / DAYS_PER_CYCLE), DAYS_PER_CYCLE);
+            IntVector quadrupleDayOfCentury = quadrupleDay.sub(century.mul(DAYS_PER_CYCLE)).or(3);
+            IntVector yearOfCentury = correct(quadrupleDayOfCentury,
+                                              estimate(quadrupleDayOfCentury, 1f / 1461), 1461);
+            IntVector dayOfYear = quadrupleDayOfCentury.sub(yearOfCentury.mul(1461))
+                .lanewise(VectorOperators.LSHR, 2);
+            // (5 * dayOfYear + 2) / 153, exact in this range
+            IntVector marchMonth = dayOfYear.mul(5).add(2).mul(6854).lanewise(VectorOperators.LSHR, 20);
+            IntVector nextYear = marchMonth.add(6).lanewise(VectorOperators.LSHR, 4);
+            century.sub(4 * CYCLE_SHIFT).mul(100).add(yearOfCentury).add(nextYear).intoArray(years, i);
+            marchMonth.add(2).sub(nextYear.mul(12)).intoArray(months, i);
+            // dayOfYear - (153 * marchMonth + 2) / 5 + 1
+            dayOfYear.sub(marchMonth.mul(153).add(2).mul(13108).lanewise(VectorOperators.LSHR, 16)).add(1)
+                .intoArray(daysOfMonth, i);
+        }
+        EpochDayKernel.computeDatesScalar(epochDays, i, toIndex, years, months, daysOfMonth);
+    }
+
+    /**
+     * Returns the non-negative lanes multiplied by a factor and rounded to
+     * the nearest integer, which must be below 2<sup>22</sup>. Adding
+     * 2<sup>23</sup> rounds the product, and leaves the integer in the low
+     * bits of the float; JDK 17 has no SIMD conversion from float to int.
+     */
+    private static IntVector estimate(IntVector value, float factor) {
+        FloatVector product = ((FloatVector) value.convert(VectorOperators.I2F, 0)).mul(factor).add(ROUNDING);
+        return product.reinterpretAsInts().sub(ROUNDING_BITS);
+    }
+
+    /**
+     * Corrects a quotient estimated to one unit of the quotient of the
+     * dividend by the divisor, rounded down. The remainder is exact even
+     * if the dividend overflowed, as long as it is small.
+     */
+    private static IntVector correct(IntVector dividend, IntVector quotient, int divisor) {
+        IntVector remainder = dividend.sub(quotient.mul(divisor));
+        // adds -1 if the remainder is negative, and 1 if it is too large
+        return quotient.add(remainder.lanewise(VectorOperators.ASHR, 31))
+            .sub(remainder.neg().add(divisor - 1).lanewise(VectorOperators.ASHR, 31));
+    }
+}
@@ -0,0 +1,73 @@
+package org.jsweet.candies.j4ts.time.vector.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jsweet.candies.j4ts.time.vector.EpochDayKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converts a block of random epoch days between 1970 and 2500 to year,
+ * month and day columns with the vector kernel and with its scalar
+ * fallback:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar EpochDayKernelBenchmark
+ * </pre>
+ *
+ * The scalar loop is the one of <code>CalendarBatch.computeDates</code>,
+ * which <code>CalendarDatesBenchmark</code> of the Java 8 benchmarks
+ * compares with <code>CalendarBatch.computeFields</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+@OperationsPerInvocation(EpochDayKernelBenchmark.SIZE)
+public class EpochDayKernelBenchmark {
+
+    static final int SIZE = 1 << 12;
+
+    private final int[] epochDays = new int[SIZE];
+
+    private final int[] years = new int[SIZE];
+
+    private final int[] months = new int[SIZE];
+
+    private final int[] daysOfMonth = new int[SIZE];
+
+    @Setup
+    public void setup() {
+        if (!EpochDayKernel.isVectorized()) {
+            throw new IllegalStateException("jdk.incubator.vector is missing");
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            epochDays[i] = random.nextInt(200_000);
+        }
+    }
+
+    @Benchmark
+    public int[] vector() {
+        EpochDayKernel.computeDates(epochDays, 0, SIZE, years, months, daysOfMonth);
+        return daysOfMonth;
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        EpochDayKernel.computeDatesScalar(epochDays, 0, SIZE, years, months, daysOfMonth);
+        return daysOfMonth;
+    }
+}